@@ -67,6 +67,24 @@ public interface ComponentContainer extends NbtSerializable {
     @ApiStatus.Experimental
     void tickClientComponents();
 
+    /**
+     * @return {@code false} if {@link #tickComponents()} is known to do nothing for this container
+     */
+    @Contract(pure = true)
+    @ApiStatus.Experimental
+    default boolean hasServerTickers() {
+        return true;
+    }
+
+    /**
+     * @return {@code false} if {@link #tickClientComponents()} is known to do nothing for this container
+     */
+    @Contract(pure = true)
+    @ApiStatus.Experimental
+    default boolean hasClientTickers() {
+        return true;
+    }
+
     /**
      * A factory for {@link ComponentContainer}s.
      *
@@ -24,12 +24,16 @@ package dev.onyxstudios.cca.api.v3.component;
 
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.PlayerSyncPredicate;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
+import dev.onyxstudios.cca.internal.base.ComponentMetricsImpl;
+import dev.onyxstudios.cca.internal.base.DeferredComponentSync;
+import dev.onyxstudios.cca.internal.base.SyncScheduler;
 import dev.onyxstudios.cca.internal.base.asm.CcaBootstrap;
 import io.netty.buffer.Unpooled;
 import nerdhub.cardinal.components.api.component.Component;
 import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
-import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
 import net.minecraft.network.Packet;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -127,6 +131,26 @@ public abstract class ComponentKey<C extends Component> {
         }
     }
 
+    /**
+     * Schedules a synchronization of the component attached to the given provider at the end of the current server tick.
+     *
+     * <p>Unlike {@link #sync(Object)}, calling this method several times for the same provider during a tick
+     * results in a single synchronization, making it suitable for components that get modified often.
+     * The synchronization behaves exactly like a call to {@link #sync(Object)} made at the end of the tick.
+     * If the Fabric lifecycle events module is not installed, or if this method is not called on the server thread,
+     * it synchronizes immediately.
+     *
+     * @param provider a component provider
+     * @param <V>      the class of the component provider
+     * @throws ClassCastException if <code>provider</code> does not implement {@link ComponentProvider}
+     * @see #sync(Object)
+     * @since 2.9.0
+     */
+    @ApiStatus.Experimental
+    public <V> void markDirty(V provider) {
+        DeferredComponentSync.markDirty(this, (ComponentProvider) provider);
+    }
+
     @Deprecated
     @ApiStatus.ScheduledForRemoval
     public <V> void sync(V provider, int syncOp) {
@@ -187,6 +211,10 @@ public abstract class ComponentKey<C extends Component> {
         if (!prov.supportsCustomComponentPacketWriters()) {
             throw new UnsupportedOperationException(prov + " does not support custom packet writers, please update the relevant Cardinal Components module to 2.7.0 or later.");
         }
+        if (packetWriter.isRecipientIndependent()) {
+            this.broadcast(prov, packetWriter, predicate);
+            return;
+        }
         for (Iterator<ServerPlayerEntity> it = prov.getRecipientsForComponentSync(); it.hasNext(); ) {
             this.syncWith(it.next(), prov, packetWriter, predicate);
         }
@@ -279,13 +307,64 @@ public abstract class ComponentKey<C extends Component> {
             @SuppressWarnings({"unchecked", "rawtypes"}) Packet<?> packet = provider.toComponentPacket(buf, (ComponentKey) this, (dev.onyxstudios.cca.api.v3.component.AutoSyncedComponent) c, player, syncOp);
 
             if (packet != null) {
-                ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet);
+                if (ComponentMetricsImpl.ENABLED) {
+                    ComponentMetricsImpl.recordSync(this, buf.writerIndex());
+                }
+                SyncScheduler.send(player, provider, this, packet, buf.writerIndex(), syncOp == dev.onyxstudios.cca.api.v3.component.AutoSyncedComponent.FULL_SYNC);
             }
         } else if (c instanceof SyncedComponent) {
             ((SyncedComponent) c).syncWith(player);
         }
     }
 
+    /**
+     * Sends the same sync packet to every recipient, encoding the component data at most once per key format.
+     *
+     * <p>Providers only prefix the payload with their own identifiers and with this key, which is written
+     * either as an identifier or as a raw id depending on the recipient. The packet built for the first
+     * recipient using a format is therefore valid for every other recipient using the same format.
+     * {@link net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket} copies its payload
+     * when it gets written to a connection, so sharing one instance is safe.
+     */
+    private void broadcast(ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        Packet<?>[] packets = new Packet<?>[2];
+        int[] sizes = new int[2];
+
+        for (Iterator<ServerPlayerEntity> it = provider.getRecipientsForComponentSync(); it.hasNext(); ) {
+            ServerPlayerEntity player = it.next();
+
+            if (predicate.shouldSyncWith(player)) {
+                int format = ComponentKeyNetworking.usesRawId(player, this) ? 1 : 0;
+
+                if (packets[format] == null) {
+                    PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+                    Packet<?> packet = provider.toComponentPacket(buf, this, writer, player);
+
+                    if (packet == null) {
+                        return;
+                    }
+                    packets[format] = packet;
+                    sizes[format] = buf.writerIndex();
+                }
+                if (ComponentMetricsImpl.ENABLED) {
+                    ComponentMetricsImpl.recordSync(this, sizes[format]);
+                }
+                SyncScheduler.send(player, provider, this, packets[format], sizes[format], isFullState(writer));
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if packets written by {@code writer} hold the full state of the component,
+     * using the same criteria as the client to decide which packets can be dropped
+     * @see AutoSyncedComponent#supportsSyncCoalescing()
+     */
+    private static boolean isFullState(ComponentPacketWriter writer) {
+        return writer instanceof AutoSyncedComponent
+            && !(writer instanceof DeltaSyncedComponent)
+            && ((AutoSyncedComponent) writer).supportsSyncCoalescing();
+    }
+
     @ApiStatus.Internal
     public void syncWith(ServerPlayerEntity player, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
         if (predicate.shouldSyncWith(player)) {
@@ -293,7 +372,10 @@ public abstract class ComponentKey<C extends Component> {
             Packet<?> packet = provider.toComponentPacket(buf, this, writer, player);
 
             if (packet != null) {
-                ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet);
+                if (ComponentMetricsImpl.ENABLED) {
+                    ComponentMetricsImpl.recordSync(this, buf.writerIndex());
+                }
+                SyncScheduler.send(player, provider, this, packet, buf.writerIndex(), isFullState(writer));
             }
         }
     }
@@ -0,0 +1,173 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component;
+
+import dev.onyxstudios.cca.internal.base.ComponentMetricsImpl;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Runtime metrics for components, aggregated per {@link ComponentKey}.
+ *
+ * <p>Metrics are opt-in, and only collected when the {@code cca.metrics} system property is set to {@code true}.
+ * They cover ticking, NBT serialization of component containers, and sync packets sent through {@link ComponentKey}.
+ * The same data is available in game through the {@code /cardinal-components metrics} command.
+ *
+ * @since 2.9.0
+ */
+@ApiStatus.Experimental
+public final class ComponentMetrics {
+    private ComponentMetrics() { throw new AssertionError(); }
+
+    /**
+     * @return {@code true} if component metrics are being collected
+     */
+    @Contract(pure = true)
+    public static boolean isEnabled() {
+        return ComponentMetricsImpl.ENABLED;
+    }
+
+    /**
+     * Takes a snapshot of the metrics collected since startup or the last {@link #reset()}.
+     *
+     * <p>Keys for which nothing has been recorded are not included in the returned map.
+     *
+     * @return an immutable map of component keys to their metrics, empty if metrics are disabled
+     */
+    @Contract(pure = true)
+    public static @Unmodifiable Map<ComponentKey<?>, Snapshot> snapshot() {
+        return Collections.unmodifiableMap(ComponentMetricsImpl.snapshot());
+    }
+
+    /**
+     * Discards every metric collected so far.
+     */
+    public static void reset() {
+        ComponentMetricsImpl.reset();
+    }
+
+    /**
+     * The metrics collected for a single {@link ComponentKey}, at the time the snapshot was taken.
+     */
+    public static final class Snapshot {
+        private final long ticks;
+        private final long tickNanos;
+        private final long recentTickNanos;
+        private final long serializations;
+        private final long serializationNanos;
+        private final long serializedBytes;
+        private final long deserializations;
+        private final long deserializationNanos;
+        private final long syncPackets;
+        private final long syncBytes;
+
+        @ApiStatus.Internal
+        public Snapshot(long ticks, long tickNanos, long recentTickNanos, long serializations, long serializationNanos, long serializedBytes, long deserializations, long deserializationNanos, long syncPackets, long syncBytes) {
+            this.ticks = ticks;
+            this.tickNanos = tickNanos;
+            this.recentTickNanos = recentTickNanos;
+            this.serializations = serializations;
+            this.serializationNanos = serializationNanos;
+            this.serializedBytes = serializedBytes;
+            this.deserializations = deserializations;
+            this.deserializationNanos = deserializationNanos;
+            this.syncPackets = syncPackets;
+            this.syncBytes = syncBytes;
+        }
+
+        /**
+         * @return the number of times components of this type have been ticked, on either side
+         */
+        public long getTicks() {
+            return this.ticks;
+        }
+
+        /**
+         * @return the total time spent ticking components of this type, in nanoseconds
+         */
+        public long getTickNanos() {
+            return this.tickNanos;
+        }
+
+        /**
+         * @return the time spent ticking components of this type over the last 10 seconds, in nanoseconds
+         */
+        public long getRecentTickNanos() {
+            return this.recentTickNanos;
+        }
+
+        /**
+         * @return the number of times components of this type have been written to NBT by their container
+         */
+        public long getSerializations() {
+            return this.serializations;
+        }
+
+        /**
+         * @return the total time spent writing components of this type to NBT, in nanoseconds
+         */
+        public long getSerializationNanos() {
+            return this.serializationNanos;
+        }
+
+        /**
+         * @return the total size of the NBT written by components of this type, in bytes,
+         * estimated from a sample of serializations (see the {@code cca.metrics.size_sampling} system property)
+         */
+        public long getSerializedBytes() {
+            return this.serializedBytes;
+        }
+
+        /**
+         * @return the number of times components of this type have been read from NBT by their container
+         */
+        public long getDeserializations() {
+            return this.deserializations;
+        }
+
+        /**
+         * @return the total time spent reading components of this type from NBT, in nanoseconds
+         */
+        public long getDeserializationNanos() {
+            return this.deserializationNanos;
+        }
+
+        /**
+         * @return the number of sync packets sent for components of this type
+         */
+        public long getSyncPackets() {
+            return this.syncPackets;
+        }
+
+        /**
+         * @return the total size of the sync packets sent for components of this type, in bytes
+         */
+        public long getSyncBytes() {
+            return this.syncBytes;
+        }
+    }
+}
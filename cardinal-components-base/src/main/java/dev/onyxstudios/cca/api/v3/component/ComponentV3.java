@@ -67,6 +67,24 @@ public interface ComponentV3 extends Component {
      */
     boolean equals(Object o);
 
+    /**
+     * Returns a 64-bit fingerprint of this component's current state, or {@code 0} if none is available.
+     *
+     * <p>Equal components must return equal fingerprints, and the fingerprint must reflect the latest state
+     * of the component. When two components both provide a non-zero fingerprint and those fingerprints differ,
+     * the components are considered different without calling {@link #equals(Object)}.
+     * This can make comparisons considerably cheaper for components with a lot of data, like inventories,
+     * provided the fingerprint is cached and updated on mutation.
+     *
+     * @return a fingerprint consistent with {@link #equals(Object)}, or {@code 0} if unknown
+     * @since 2.9.0
+     */
+    @ApiStatus.Experimental
+    @Contract(pure = true)
+    default long getStateFingerprint() {
+        return 0L;
+    }
+
     @ApiStatus.ScheduledForRemoval
     @Deprecated
     @Override
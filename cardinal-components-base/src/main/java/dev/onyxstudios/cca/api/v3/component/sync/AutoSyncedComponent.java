@@ -26,11 +26,13 @@ import com.demonwav.mcdev.annotations.CheckEnv;
 import com.demonwav.mcdev.annotations.Env;
 import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.ClientSyncInbox;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 
 /**
@@ -76,6 +78,7 @@ public interface AutoSyncedComponent extends Component, ComponentPacketWriter, P
      * @see ComponentKey#sync(Object)
      * @see ComponentKey#sync(Object, ComponentPacketWriter)
      * @see #applySyncPacket(PacketByteBuf)
+     * @see #isRecipientIndependent()
      */
     @Contract(mutates = "param1")
     @Override
@@ -101,4 +104,24 @@ public interface AutoSyncedComponent extends Component, ComponentPacketWriter, P
             this.readFromNbt(tag);
         }
     }
+
+    /**
+     * Returns {@code true} if every sync packet sent for this component describes its full state,
+     * such that applying the latest packet has the same effect as applying every packet in order.
+     *
+     * <p>When several sync packets for a coalescing component are waiting to be processed by the client,
+     * only the latest one gets applied, saving the cost of decoding the others. Similarly, a packet
+     * held back by the server's sync budget gets replaced by any newer packet for the same component.
+     * This method is therefore called on both sides.
+     *
+     * @implSpec The default implementation returns {@code true} if this class uses the default
+     * {@link #applySyncPacket(PacketByteBuf)} implementation, which always reads the full NBT representation,
+     * and {@code false} if it overrides it. Components that override {@link #applySyncPacket(PacketByteBuf)}
+     * but still only receive full-state packets may override this method to return {@code true}.
+     * @since 2.9.0
+     */
+    @ApiStatus.Experimental
+    default boolean supportsSyncCoalescing() {
+        return ClientSyncInbox.isFullStateSync(this.getClass());
+    }
 }
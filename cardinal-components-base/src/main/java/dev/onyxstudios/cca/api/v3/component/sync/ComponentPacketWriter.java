@@ -24,10 +24,28 @@ package dev.onyxstudios.cca.api.v3.component.sync;
 
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 
 @FunctionalInterface
 public interface ComponentPacketWriter {
     @Contract(mutates = "param1")
     void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient);
+
+    /**
+     * Returns {@code true} if this writer always writes the same data, regardless of the {@code recipient}
+     * passed to {@link #writeSyncPacket(PacketByteBuf, ServerPlayerEntity)}.
+     *
+     * <p>When synchronizing with every watcher of a provider, the sync packet of a recipient-independent
+     * writer is encoded a single time and shared between all recipients, instead of being
+     * written again for each player.
+     *
+     * @return {@code true} if the written data does not depend on the recipient
+     * @since 2.9.0
+     */
+    @ApiStatus.Experimental
+    @Contract(pure = true)
+    default boolean isRecipientIndependent() {
+        return false;
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import com.demonwav.mcdev.annotations.CheckEnv;
+import com.demonwav.mcdev.annotations.Env;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.DeltaSyncTracker;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * An {@link AutoSyncedComponent} that only sends the changes made since the last packet a player received.
+ *
+ * <p>Implementations maintain a {@linkplain #getSyncVersion() version number} that increases every time their
+ * synced state changes. For each player, the server remembers the version that was last sent for this component.
+ * When a baseline exists, {@link #writeDeltaSyncPacket(PacketByteBuf, ServerPlayerEntity, long)} is called
+ * with it so that only the newer changes get written; otherwise the full state is written
+ * through {@link #writeFullSyncPacket(PacketByteBuf, ServerPlayerEntity)}.
+ *
+ * <p>Baselines are discarded whenever all components of a provider are sent again to a player,
+ * which notably happens when the player starts tracking the provider. Components should only be synchronized
+ * with players that track their provider, as a delta sent to a player that did not receive it would leave
+ * the client out of date until the next full synchronization.
+ *
+ * <p>The data written by delta components depends on the recipient, so they are never
+ * {@linkplain #isRecipientIndependent() recipient-independent}.
+ *
+ * @since 2.9.0
+ */
+@ApiStatus.Experimental
+public interface DeltaSyncedComponent extends AutoSyncedComponent {
+    /**
+     * Returns the current version of this component's synced state.
+     *
+     * <p>The returned value must increase every time the synced state changes.
+     * A typical implementation increments a counter in every mutator, and remembers the counter's value
+     * when each part of the state (eg. each inventory slot) was last modified.
+     */
+    @Contract(pure = true)
+    long getSyncVersion();
+
+    /**
+     * Writes the changes made to this component since the {@code baseline} version.
+     *
+     * @param buf       the buffer to write the data to
+     * @param recipient the player to which the packet will be sent
+     * @param baseline  the {@linkplain #getSyncVersion() version} that was last sent to the {@code recipient}
+     */
+    @Contract(mutates = "param1")
+    void writeDeltaSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient, long baseline);
+
+    /**
+     * Reads changes written by {@link #writeDeltaSyncPacket(PacketByteBuf, ServerPlayerEntity, long)}
+     * and applies them on top of this component's current state.
+     */
+    @CheckEnv(Env.CLIENT)
+    void applyDeltaSyncPacket(PacketByteBuf buf);
+
+    /**
+     * Writes this component's full synced state to {@code buf}.
+     *
+     * @implSpec The default implementation writes the whole NBT representation
+     * of this component to the buffer using {@link #writeToNbt(CompoundTag)}.
+     */
+    @Contract(mutates = "param1")
+    default void writeFullSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        CompoundTag tag = new CompoundTag();
+        this.writeToNbt(tag);
+        buf.writeCompoundTag(tag);
+    }
+
+    /**
+     * Reads data written by {@link #writeFullSyncPacket(PacketByteBuf, ServerPlayerEntity)}.
+     *
+     * @implSpec The default implementation converts the buffer's content
+     * to a {@link CompoundTag} and calls {@link #readFromNbt(CompoundTag)}.
+     */
+    @CheckEnv(Env.CLIENT)
+    default void applyFullSyncPacket(PacketByteBuf buf) {
+        CompoundTag tag = buf.readCompoundTag();
+        if (tag != null) {
+            this.readFromNbt(tag);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation writes a delta against the {@code recipient}'s baseline if there is one,
+     * and the full state otherwise. Implementations should not override this method.
+     * @see ComponentKey#sync(Object)
+     */
+    @Override
+    default void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        DeltaSyncTracker.writeSyncPacket(this, buf, recipient);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation applies either a delta or the full state,
+     * depending on what the server sent. Implementations should not override this method.
+     */
+    @CheckEnv(Env.CLIENT)
+    @Override
+    default void applySyncPacket(PacketByteBuf buf) {
+        if (buf.readBoolean()) {
+            this.applyDeltaSyncPacket(buf);
+        } else {
+            this.applyFullSyncPacket(buf);
+        }
+    }
+
+    @Override
+    default boolean isRecipientIndependent() {
+        return false;
+    }
+}
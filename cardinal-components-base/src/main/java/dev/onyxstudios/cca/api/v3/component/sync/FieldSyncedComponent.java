@@ -0,0 +1,100 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import com.demonwav.mcdev.annotations.CheckEnv;
+import com.demonwav.mcdev.annotations.Env;
+import dev.onyxstudios.cca.internal.base.asm.FieldSyncCodec;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An {@link AutoSyncedComponent} which synchronized state is declared through {@link SyncedField} annotations.
+ *
+ * <p>Instead of going through NBT, the annotated fields are written to sync packets in a compact binary format,
+ * without any key or type information (integers are written as varints). The writer and reader for each
+ * component class are generated once, the first time the class gets synchronized.
+ *
+ * <p>Components that need to synchronize additional data can override {@link #writeSyncPacket(PacketByteBuf, ServerPlayerEntity)}
+ * and {@link #applySyncPacket(PacketByteBuf)}, calling the default implementations through {@code FieldSyncedComponent.super}.
+ * Such components are no longer considered {@linkplain #isRecipientIndependent() recipient-independent},
+ * unless they override that method too.
+ *
+ * <pre>{@code
+ * public class ManaComponent implements FieldSyncedComponent {
+ *     @SyncedField public int mana;
+ *     @SyncedField public int maxMana;
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @implNote Fields of public classes that are themselves public are accessed directly by generated bytecode.
+ * Other fields are accessed through method handles, which is slower.
+ * @since 2.9.0
+ */
+@ApiStatus.Experimental
+public interface FieldSyncedComponent extends AutoSyncedComponent {
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation writes every {@link SyncedField} of this component to {@code buf}.
+     */
+    @Override
+    default void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        FieldSyncCodec.get(this.getClass()).write(this, buf);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation reads every {@link SyncedField} of this component from {@code buf}.
+     */
+    @CheckEnv(Env.CLIENT)
+    @Override
+    default void applySyncPacket(PacketByteBuf buf) {
+        FieldSyncCodec.get(this.getClass()).read(this, buf);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation returns {@code true} if this class uses the default
+     * {@link #writeSyncPacket(PacketByteBuf, ServerPlayerEntity)} implementation, as the synced fields
+     * are the same for every player, and {@code false} if it overrides it.
+     */
+    @Override
+    default boolean isRecipientIndependent() {
+        return FieldSyncCodec.usesDefaultWriter(this.getClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation returns {@code true}, as every packet holds all synced fields.
+     */
+    @Override
+    default boolean supportsSyncCoalescing() {
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of a {@link FieldSyncedComponent} as part of its synchronized state.
+ *
+ * <p>Annotated fields must be non-static and non-final. Supported field types are the primitive types,
+ * {@link String}, {@link java.util.UUID}, {@link net.minecraft.util.Identifier}, {@link net.minecraft.util.math.BlockPos},
+ * {@link net.minecraft.nbt.CompoundTag}, {@link net.minecraft.item.ItemStack} and enums.
+ * Reference fields may hold {@code null}.
+ *
+ * <p>Fields are written in a stable order (superclass fields first, then by name), so adding or removing
+ * a synced field changes the wire format of the component.
+ *
+ * @see FieldSyncedComponent
+ * @since 2.9.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface SyncedField {
+}
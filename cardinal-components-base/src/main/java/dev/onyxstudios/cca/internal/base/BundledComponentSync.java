@@ -0,0 +1,227 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
+import io.netty.buffer.Unpooled;
+import nerdhub.cardinal.components.api.component.Component;
+import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
+import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
+import net.fabricmc.fabric.api.network.PacketConsumer;
+import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Synchronizes the components of one or more providers with a player in a single packet.
+ *
+ * <p>A bundle packet contains the channel of the bundled packets, a varint count,
+ * then for each bundled packet its size as a varint followed by its payload.
+ * On the client, each payload is handed over in order to the handler registered for the channel
+ * through {@link #registerClientHandler(Identifier, PacketConsumer)}.
+ *
+ * <p>Bundles are split into several packets to stay below the custom payload size limit.
+ */
+public final class BundledComponentSync {
+    /**
+     * Channel on which bundled component packets are sent, only used for clients that registered it.
+     */
+    public static final Identifier PACKET_ID = new Identifier("cardinal-components", "bundle");
+
+    /**
+     * Maximum size of a bundle packet, kept well below the 1 MiB limit of {@link net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket}
+     */
+    private static final int MAX_BUNDLE_SIZE = 1 << 19;
+    /**
+     * Space taken by the channel and the payload count, with generous margins
+     */
+    private static final int BUNDLE_HEADER_SIZE = 512;
+
+    private static final Map<Identifier, PacketConsumer> clientHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * Synchronizes every component attached to {@code provider} with {@code player}.
+     *
+     * <p>This has the same effect as calling {@link ComponentKey#syncWith(ServerPlayerEntity, ComponentProvider)}
+     * for each of the provider's keys, but sends a single packet for all automatically synchronized components.
+     *
+     * @param channel the channel of the packets created by the provider's
+     *                {@link ComponentProvider#toComponentPacket(PacketByteBuf, ComponentKey, dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter, ServerPlayerEntity)}
+     */
+    public static void syncAll(ServerPlayerEntity player, ComponentProvider provider, Identifier channel) {
+        BundledComponentSync bundle = new BundledComponentSync(player, channel);
+        bundle.add(provider, key -> true);
+        bundle.send();
+    }
+
+    private final ServerPlayerEntity player;
+    private final Identifier channel;
+    private final boolean supported;
+    private final List<PacketByteBuf> payloads = new ArrayList<>();
+    private final List<Packet<?>> packets = new ArrayList<>();
+    private int bundleSize = BUNDLE_HEADER_SIZE;
+
+    /**
+     * Creates a bundle for {@code player}, to which any number of providers using the same {@code channel} may be added.
+     */
+    public BundledComponentSync(ServerPlayerEntity player, Identifier channel) {
+        this.player = player;
+        this.channel = channel;
+        this.supported = ServerSidePacketRegistry.INSTANCE.canPlayerReceive(player, PACKET_ID);
+    }
+
+    public ServerPlayerEntity getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * Adds the components attached to {@code provider} and accepted by {@code filter} to this bundle.
+     *
+     * <p>Components that cannot be bundled are synchronized right away.
+     * As this sends the full state of the provider, {@linkplain DeltaSyncedComponent delta baselines} are reset
+     * and packets still queued by the {@link SyncScheduler} for the added components are dropped.
+     */
+    public void add(ComponentProvider provider, Predicate<ComponentKey<?>> filter) {
+        ComponentContainer container = provider.getComponentContainer();
+        assert container != null;
+
+        if (!this.supported || !provider.supportsCustomComponentPacketWriters()) {
+            for (ComponentKey<?> key : container.keys()) {
+                if (filter.test(key)) {
+                    DeltaSyncTracker.resetBaseline(key.getFromContainer(container), this.player);
+                    SyncScheduler.discard(this.player, provider, key);
+                    key.syncWith(this.player, provider);
+                }
+            }
+            return;
+        }
+
+        for (ComponentKey<?> key : container.keys()) {
+            if (!filter.test(key)) {
+                continue;
+            }
+
+            Component c = key.getFromContainer(container);
+            DeltaSyncTracker.resetBaseline(c, this.player);
+            SyncScheduler.discard(this.player, provider, key);
+
+            if (c instanceof AutoSyncedComponent) {
+                AutoSyncedComponent synced = (AutoSyncedComponent) c;
+
+                if (synced.shouldSyncWith(this.player)) {
+                    PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+                    // can't cast to (C & AutoSyncedComponent), but the guarantees are there
+                    @SuppressWarnings({"unchecked", "rawtypes"}) Packet<?> packet = provider.toComponentPacket(buf, (ComponentKey) key, synced, this.player);
+
+                    if (packet != null) {
+                        if (ComponentMetricsImpl.ENABLED) {
+                            ComponentMetricsImpl.recordSync(key, buf.writerIndex());
+                        }
+                        this.append(buf, packet);
+                    }
+                }
+            } else if (c instanceof SyncedComponent) {
+                ((SyncedComponent) c).syncWith(this.player);
+            }
+        }
+    }
+
+    private void append(PacketByteBuf payload, Packet<?> packet) {
+        int size = payload.readableBytes() + 5;  // payload + varint size prefix
+
+        if (this.bundleSize + size > MAX_BUNDLE_SIZE) {
+            // flush first to keep the payloads in order
+            this.send();
+
+            if (BUNDLE_HEADER_SIZE + size > MAX_BUNDLE_SIZE) {
+                // too big to be bundled, send it on its own
+                SyncScheduler.recordSent(this.player, payload.writerIndex());
+                ServerSidePacketRegistry.INSTANCE.sendToPlayer(this.player, packet);
+                return;
+            }
+        }
+
+        this.payloads.add(payload);
+        this.packets.add(packet);
+        this.bundleSize += size;
+    }
+
+    /**
+     * Sends every component added to this bundle since the last call.
+     */
+    public void send() {
+        if (this.payloads.size() == 1) {
+            SyncScheduler.recordSent(this.player, this.payloads.get(0).writerIndex());
+            ServerSidePacketRegistry.INSTANCE.sendToPlayer(this.player, this.packets.get(0));
+        } else if (!this.payloads.isEmpty()) {
+            PacketByteBuf bundle = new PacketByteBuf(Unpooled.buffer());
+            bundle.writeIdentifier(this.channel);
+            bundle.writeVarInt(this.payloads.size());
+            for (PacketByteBuf payload : this.payloads) {
+                bundle.writeVarInt(payload.readableBytes());
+                bundle.writeBytes(payload);
+            }
+            SyncScheduler.recordSent(this.player, bundle.writerIndex());
+            ServerSidePacketRegistry.INSTANCE.sendToPlayer(this.player, PACKET_ID, bundle);
+        }
+        this.payloads.clear();
+        this.packets.clear();
+        this.bundleSize = BUNDLE_HEADER_SIZE;
+    }
+
+    /**
+     * Registers a client packet handler for {@code channel}, which also handles
+     * the payloads of bundles sent for that channel.
+     */
+    public static void registerClientHandler(Identifier channel, PacketConsumer handler) {
+        ClientSidePacketRegistry.INSTANCE.register(channel, handler);
+        clientHandlers.put(channel, handler);
+    }
+
+    // Safe to put in the same class as no client-only class is directly referenced
+    public static void initClient() {
+        ClientSidePacketRegistry.INSTANCE.register(PACKET_ID, (context, buffer) -> {
+            PacketConsumer handler = clientHandlers.get(buffer.readIdentifier());
+            if (handler == null) {
+                return;
+            }
+            int count = buffer.readVarInt();
+            for (int i = 0; i < count; i++) {
+                int size = buffer.readVarInt();
+                handler.accept(context, new PacketByteBuf(buffer.readSlice(size)));
+            }
+        });
+    }
+}
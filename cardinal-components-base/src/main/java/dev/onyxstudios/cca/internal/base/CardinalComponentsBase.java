@@ -0,0 +1,45 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import net.fabricmc.loader.api.FabricLoader;
+
+public final class CardinalComponentsBase {
+    public static void init() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-lifecycle-events-v1")) {
+            DeferredComponentSync.init();
+            SyncScheduler.init();
+        }
+        if (FabricLoader.getInstance().isModLoaded("fabric-command-api-v1")) {
+            ComponentMetricsCommand.register();
+        }
+    }
+
+    // Safe to put in the same class as no client-only class is directly referenced
+    public static void initClient() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
+            ComponentKeyNetworking.initClient();
+            BundledComponentSync.initClient();
+        }
+    }
+}
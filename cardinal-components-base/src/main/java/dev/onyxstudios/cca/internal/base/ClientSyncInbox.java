@@ -0,0 +1,132 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Skips sync packets that have been made obsolete by a newer packet for the same component,
+ * before the client thread got to apply them.
+ *
+ * <p>Each received packet gets a {@link Ticket} on the network thread. When the client thread processes the packet,
+ * it is only applied if no newer packet has been received for the same provider and component, or if the component
+ * does not {@linkplain AutoSyncedComponent#supportsSyncCoalescing() support coalescing}. The newest packet
+ * is always applied, in its original position relative to other packets.
+ */
+public final class ClientSyncInbox {
+    private static final Map<Target, Long> latest = new ConcurrentHashMap<>();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final ClassValue<Boolean> fullStateSync = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("applySyncPacket", PacketByteBuf.class).getDeclaringClass() == AutoSyncedComponent.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    /**
+     * Registers a sync packet received on the network thread.
+     *
+     * @param channel    the channel on which the packet was received
+     * @param providerId an object identifying the provider within the channel, or {@code null} if there is only one
+     * @param key        the key of the synchronized component
+     */
+    public static Ticket receive(Identifier channel, @Nullable Object providerId, ComponentKey<?> key) {
+        Target target = new Target(channel, providerId, key);
+        long seq = sequence.incrementAndGet();
+        latest.put(target, seq);
+        return new Ticket(target, seq);
+    }
+
+    /**
+     * @return {@code true} if components of the given class only receive full-state sync packets
+     * @see AutoSyncedComponent#supportsSyncCoalescing()
+     */
+    public static boolean isFullStateSync(Class<? extends AutoSyncedComponent> componentClass) {
+        return fullStateSync.get(componentClass);
+    }
+
+    public static final class Ticket {
+        private final Target target;
+        private final long sequence;
+
+        Ticket(Target target, long sequence) {
+            this.target = target;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Applies the sync packet to {@code component}, unless it has been superseded by a newer one.
+         */
+        public void apply(AutoSyncedComponent component, PacketByteBuf buf) {
+            Long newest = latest.get(this.target);
+            if (newest == null || newest == this.sequence || !component.supportsSyncCoalescing()) {
+                component.applySyncPacket(buf);
+            }
+        }
+
+        /**
+         * Must be called once the packet has been processed, whether it has been applied or not.
+         */
+        public void close() {
+            latest.remove(this.target, this.sequence);
+        }
+    }
+
+    private static final class Target {
+        private final Identifier channel;
+        private final @Nullable Object providerId;
+        private final ComponentKey<?> key;
+
+        Target(Identifier channel, @Nullable Object providerId, ComponentKey<?> key) {
+            this.channel = channel;
+            this.providerId = providerId;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || this.getClass() != o.getClass()) return false;
+            Target target = (Target) o;
+            return this.key == target.key && this.channel.equals(target.channel) && Objects.equals(this.providerId, target.providerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * this.channel.hashCode() + Objects.hashCode(this.providerId)) + this.key.hashCode();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import io.netty.buffer.Unpooled;
+import nerdhub.cardinal.components.api.ComponentRegistry;
+import nerdhub.cardinal.components.api.ComponentType;
+import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
+import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compact encoding of component keys in sync packets.
+ *
+ * <p>Clients able to understand raw ids register the {@link #PACKET_ID} channel. Before using raw ids with
+ * such a client, the server sends it a packet on that channel mapping its raw ids to component identifiers.
+ * Keys are then written as a {@code 0} varint followed by the server's raw id as a varint. As an identifier
+ * always starts with a strictly positive length, the reader can tell both formats apart, and identifiers
+ * are still used for clients that did not register the channel.
+ */
+public final class ComponentKeyNetworking {
+    /**
+     * Channel on which the server sends its component raw id table.
+     *
+     * <p>Packets emitted on this channel contain a varint count of entries, followed by
+     * that many pairs of a component identifier and a varint raw id.
+     */
+    public static final Identifier PACKET_ID = new Identifier("cardinal-components", "key_ids");
+
+    private static final int RAW_ID_MARKER = 0;
+    /** Raw ids announced to each connection, identified by its network handler */
+    private static final Map<ServerPlayNetworkHandler, BitSet> announcedRawIds = Collections.synchronizedMap(new WeakHashMap<>());
+    /** Client-side table from server raw ids to component types, replaced every time the server sends one */
+    private static volatile ComponentType<?>[] serverRawIds = new ComponentType[0];
+
+    /**
+     * Writes a reference to the given {@code key} in a sync packet intended for {@code recipient}.
+     */
+    public static void writeKey(PacketByteBuf buf, ComponentKey<?> key, ServerPlayerEntity recipient) {
+        if (usesRawId(recipient, key)) {
+            buf.writeVarInt(RAW_ID_MARKER);
+            buf.writeVarInt(key.getRawId());
+        } else {
+            buf.writeIdentifier(key.getId());
+        }
+    }
+
+    /**
+     * @return {@code true} if {@code key} is written as a raw id in packets sent to {@code recipient}
+     */
+    public static boolean usesRawId(ServerPlayerEntity recipient, ComponentKey<?> key) {
+        ServerPlayNetworkHandler connection = recipient.networkHandler;
+        //noinspection ConstantConditions
+        if (connection == null) {
+            return false;
+        }
+        BitSet announced = announcedRawIds.get(connection);
+        if (announced == null) {
+            if (!ServerSidePacketRegistry.INSTANCE.canPlayerReceive(recipient, PACKET_ID)) {
+                return false;
+            }
+            announced = announceRawIds(recipient);
+            announcedRawIds.put(connection, announced);
+        }
+        return announced.get(key.getRawId());
+    }
+
+    private static BitSet announceRawIds(ServerPlayerEntity recipient) {
+        List<ComponentType<?>> types = ComponentRegistry.INSTANCE.stream().collect(Collectors.toList());
+        BitSet announced = new BitSet();
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeVarInt(types.size());
+        for (ComponentType<?> type : types) {
+            buf.writeIdentifier(type.getId());
+            buf.writeVarInt(type.getRawId());
+            announced.set(type.getRawId());
+        }
+        ServerSidePacketRegistry.INSTANCE.sendToPlayer(recipient, PACKET_ID, buf);
+        return announced;
+    }
+
+    /**
+     * Reads a reference to a component key, in either of the formats written by {@link #writeKey}.
+     *
+     * @return the referenced component type, or {@code null} if it is not known on this side
+     */
+    public static @Nullable ComponentType<?> readKey(PacketByteBuf buf) {
+        int start = buf.readerIndex();
+        if (buf.readVarInt() == RAW_ID_MARKER) {
+            int rawId = buf.readVarInt();
+            ComponentType<?>[] table = serverRawIds;
+            return rawId < table.length ? table[rawId] : null;
+        }
+        buf.readerIndex(start);
+        return ComponentRegistry.INSTANCE.get(buf.readIdentifier());
+    }
+
+    // Safe to put in the same class as no client-only class is directly referenced
+    public static void initClient() {
+        // handled on the network thread, so that the table is up to date for the packets that follow
+        ClientSidePacketRegistry.INSTANCE.register(PACKET_ID, (context, buffer) -> {
+            ComponentType<?>[] table = new ComponentType[0];
+            int count = buffer.readVarInt();
+            for (int i = 0; i < count; i++) {
+                ComponentType<?> type = ComponentRegistry.INSTANCE.get(buffer.readIdentifier());
+                int rawId = buffer.readVarInt();
+                if (table.length <= rawId) {
+                    table = Arrays.copyOf(table, rawId + 16);
+                }
+                table[rawId] = type;
+            }
+            serverRawIds = table;
+        });
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentMetrics;
+import net.fabricmc.fabric.api.command.v1.CommandRegistrationCallback;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * {@code /cardinal-components metrics [reset]}
+ */
+public final class ComponentMetricsCommand {
+    private static final int MAX_LINES = 20;
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, dedicated) -> register(dispatcher));
+    }
+
+    private static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("cardinal-components")
+            .requires(source -> source.hasPermissionLevel(2))
+            .then(literal("metrics")
+                .executes(ComponentMetricsCommand::printMetrics)
+                .then(literal("reset")
+                    .executes(ComponentMetricsCommand::resetMetrics))));
+    }
+
+    private static int printMetrics(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        if (!ComponentMetrics.isEnabled()) {
+            source.sendError(new LiteralText("Component metrics are disabled, restart with -Dcca.metrics=true to enable them"));
+            return 0;
+        }
+        List<Map.Entry<ComponentKey<?>, ComponentMetrics.Snapshot>> entries = new ArrayList<>(ComponentMetrics.snapshot().entrySet());
+        if (entries.isEmpty()) {
+            source.sendFeedback(new LiteralText("No component metrics recorded yet"), false);
+            return 0;
+        }
+        entries.sort((e1, e2) -> Long.compare(e2.getValue().getTickNanos(), e1.getValue().getTickNanos()));
+        source.sendFeedback(new LiteralText("Component metrics (tick ms total / last " + ComponentMetricsImpl.WINDOW_SECONDS + "s, NBT writes, sync packets):").formatted(Formatting.GOLD), false);
+        for (int i = 0; i < Math.min(entries.size(), MAX_LINES); i++) {
+            ComponentKey<?> key = entries.get(i).getKey();
+            ComponentMetrics.Snapshot snapshot = entries.get(i).getValue();
+            source.sendFeedback(new LiteralText(String.format(
+                "%s: tick %.2f / %.2f ms (%d), write %.2f ms %d B (%d), read %.2f ms (%d), sync %d B (%d)",
+                key.getId(),
+                snapshot.getTickNanos() / 1e6, snapshot.getRecentTickNanos() / 1e6, snapshot.getTicks(),
+                snapshot.getSerializationNanos() / 1e6, snapshot.getSerializedBytes(), snapshot.getSerializations(),
+                snapshot.getDeserializationNanos() / 1e6, snapshot.getDeserializations(),
+                snapshot.getSyncBytes(), snapshot.getSyncPackets()
+            )), false);
+        }
+        if (entries.size() > MAX_LINES) {
+            source.sendFeedback(new LiteralText("... and " + (entries.size() - MAX_LINES) + " more").formatted(Formatting.GRAY), false);
+        }
+        return entries.size();
+    }
+
+    private static int resetMetrics(CommandContext<ServerCommandSource> context) {
+        ComponentMetrics.reset();
+        context.getSource().sendFeedback(new LiteralText("Component metrics have been reset"), true);
+        return 1;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import com.google.common.io.ByteStreams;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentMetrics;
+import net.minecraft.nbt.CompoundTag;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-{@link ComponentKey} runtime metrics, when enabled through the {@code cca.metrics} system property.
+ *
+ * <p>Every recording method must only be called after checking {@link #ENABLED}, which lets the JIT
+ * remove the instrumentation entirely when metrics are disabled. Generated containers only
+ * include instrumentation if metrics were enabled at generation time.
+ *
+ * @see ComponentMetrics
+ */
+public final class ComponentMetricsImpl {
+    public static final boolean ENABLED = Boolean.getBoolean("cca.metrics");
+    public static final int WINDOW_SECONDS = 10;
+    /**
+     * Measuring the size of serialized NBT costs about as much as writing it,
+     * so only one serialization in this many gets measured
+     */
+    public static final int SIZE_SAMPLING_RATE = Math.max(1, Integer.getInteger("cca.metrics.size_sampling", 16));
+
+    private static final Map<ComponentKey<?>, KeyMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private ComponentMetricsImpl() { throw new AssertionError(); }
+
+    private static KeyMetrics get(ComponentKey<?> key) {
+        KeyMetrics metrics = METRICS.get(key);  // avoid computeIfAbsent's locking in the common case
+        return metrics != null ? metrics : METRICS.computeIfAbsent(key, k -> new KeyMetrics());
+    }
+
+    public static void recordTick(ComponentKey<?> key, long nanos) {
+        KeyMetrics metrics = get(key);
+        metrics.ticks.increment();
+        metrics.tickNanos.add(nanos);
+        metrics.recentTickNanos.add(nanos);
+    }
+
+    public static void recordSerialization(ComponentKey<?> key, long nanos, CompoundTag output) {
+        KeyMetrics metrics = get(key);
+        metrics.serializations.increment();
+        metrics.serializationNanos.add(nanos);
+
+        if (SIZE_SAMPLING_RATE == 1 || ThreadLocalRandom.current().nextInt(SIZE_SAMPLING_RATE) == 0) {
+            metrics.measuredSerializations.increment();
+            metrics.measuredBytes.add(sizeOf(output));
+        }
+    }
+
+    public static void recordDeserialization(ComponentKey<?> key, long nanos) {
+        KeyMetrics metrics = get(key);
+        metrics.deserializations.increment();
+        metrics.deserializationNanos.add(nanos);
+    }
+
+    public static void recordSync(ComponentKey<?> key, int bytes) {
+        KeyMetrics metrics = get(key);
+        metrics.syncPackets.increment();
+        metrics.syncBytes.add(bytes);
+    }
+
+    public static Map<ComponentKey<?>, ComponentMetrics.Snapshot> snapshot() {
+        Map<ComponentKey<?>, ComponentMetrics.Snapshot> ret = new LinkedHashMap<>();
+        METRICS.forEach((key, metrics) -> ret.put(key, metrics.snapshot()));
+        return ret;
+    }
+
+    public static void reset() {
+        METRICS.clear();
+    }
+
+    private static long sizeOf(CompoundTag tag) {
+        try {
+            DataOutputStream out = new DataOutputStream(ByteStreams.nullOutputStream());
+            tag.write(out);
+            return out.size();
+        } catch (IOException e) {
+            return 0;   // cannot happen with a null output stream
+        }
+    }
+
+    private static final class KeyMetrics {
+        final LongAdder ticks = new LongAdder();
+        final LongAdder tickNanos = new LongAdder();
+        final RollingCounter recentTickNanos = new RollingCounter();
+        final LongAdder serializations = new LongAdder();
+        final LongAdder serializationNanos = new LongAdder();
+        final LongAdder measuredSerializations = new LongAdder();
+        final LongAdder measuredBytes = new LongAdder();
+        final LongAdder deserializations = new LongAdder();
+        final LongAdder deserializationNanos = new LongAdder();
+        final LongAdder syncPackets = new LongAdder();
+        final LongAdder syncBytes = new LongAdder();
+
+        ComponentMetrics.Snapshot snapshot() {
+            long serializations = this.serializations.sum();
+            long measured = this.measuredSerializations.sum();
+            // extrapolate the total size from the measured sample
+            long serializedBytes = measured == 0 ? 0 : (long) ((double) this.measuredBytes.sum() * serializations / measured);
+            return new ComponentMetrics.Snapshot(
+                this.ticks.sum(),
+                this.tickNanos.sum(),
+                this.recentTickNanos.sum(),
+                serializations,
+                this.serializationNanos.sum(),
+                serializedBytes,
+                this.deserializations.sum(),
+                this.deserializationNanos.sum(),
+                this.syncPackets.sum(),
+                this.syncBytes.sum()
+            );
+        }
+    }
+
+    /**
+     * A sum over the last {@value #WINDOW_SECONDS} seconds, kept in one bucket per second.
+     *
+     * <p>Buckets are recycled without locking, so a few samples may get lost when a bucket
+     * gets recycled concurrently. This is fine for diagnostics.
+     */
+    private static final class RollingCounter {
+        private final AtomicLongArray sums = new AtomicLongArray(WINDOW_SECONDS);
+        private final AtomicLongArray seconds = new AtomicLongArray(WINDOW_SECONDS);
+
+        void add(long value) {
+            long now = System.nanoTime() / 1_000_000_000L;
+            int bucket = (int) Math.floorMod(now, (long) WINDOW_SECONDS);
+            long bucketSecond = this.seconds.get(bucket);
+
+            if (bucketSecond != now && this.seconds.compareAndSet(bucket, bucketSecond, now)) {
+                this.sums.set(bucket, value);
+            } else {
+                this.sums.addAndGet(bucket, value);
+            }
+        }
+
+        long sum() {
+            long now = System.nanoTime() / 1_000_000_000L;
+            long sum = 0;
+
+            for (int i = 0; i < WINDOW_SECONDS; i++) {
+                if (now - this.seconds.get(i) < WINDOW_SECONDS) {
+                    sum += this.sums.get(i);
+                }
+            }
+
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Coalesces synchronization requests made through {@link ComponentKey#markDirty(Object)},
+ * and flushes them once at the end of every server tick.
+ *
+ * <p>Only requests made on the thread of the running server are deferred. Anything else, such as a client-side provider
+ * or a provider of a server that is not ticking, gets synchronized right away, like {@link ComponentKey#sync(Object)}.
+ */
+public final class DeferredComponentSync {
+    private static final Object lock = new Object();
+    private static Map<ComponentProvider, Set<ComponentKey<?>>> pending = new Reference2ObjectLinkedOpenHashMap<>();
+    private static volatile @Nullable MinecraftServer runningServer;
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> flush());
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> runningServer = server);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            runningServer = null;
+            synchronized (lock) {
+                pending = new Reference2ObjectLinkedOpenHashMap<>();
+            }
+        });
+    }
+
+    public static void markDirty(ComponentKey<?> key, ComponentProvider provider) {
+        MinecraftServer server = runningServer;
+        if (server == null || !server.isOnThread()) {
+            // no server tick to wait for on this thread (e.g. client-side provider), send it right away
+            key.sync(provider);
+            return;
+        }
+        synchronized (lock) {
+            pending.computeIfAbsent(provider, p -> new ReferenceArraySet<>(2)).add(key);
+        }
+    }
+
+    /**
+     * @return {@code true} if a synchronization of {@code key} for {@code provider} is scheduled for the end of the tick
+     */
+    public static boolean isPending(ComponentProvider provider, ComponentKey<?> key) {
+        synchronized (lock) {
+            Set<ComponentKey<?>> keys = pending.get(provider);
+            return keys != null && keys.contains(key);
+        }
+    }
+
+    private static void flush() {
+        Map<ComponentProvider, Set<ComponentKey<?>>> dirty;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            dirty = pending;
+            pending = new Reference2ObjectLinkedOpenHashMap<>();
+        }
+        for (Map.Entry<ComponentProvider, Set<ComponentKey<?>>> entry : dirty.entrySet()) {
+            for (ComponentKey<?> key : entry.getValue()) {
+                key.sync(entry.getKey());
+            }
+        }
+    }
+}
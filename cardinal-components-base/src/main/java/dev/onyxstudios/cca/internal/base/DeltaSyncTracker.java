@@ -0,0 +1,71 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import com.google.common.collect.MapMaker;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
+import nerdhub.cardinal.components.api.component.Component;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Map;
+
+/**
+ * Remembers, for each {@link DeltaSyncedComponent} and each player, the version of the component
+ * that was last sent to the player.
+ *
+ * <p>Both components and players are weakly referenced, so baselines go away with unloaded providers
+ * and disconnected players. A player respawning gets a new entity, and therefore starts without baselines.
+ */
+public final class DeltaSyncTracker {
+    private static final Map<DeltaSyncedComponent, Map<ServerPlayerEntity, Long>> baselines = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Writes a delta or a full payload for {@code component}, preceded by a boolean telling which one it is,
+     * and records the component's current version as the {@code recipient}'s new baseline.
+     */
+    public static void writeSyncPacket(DeltaSyncedComponent component, PacketByteBuf buf, ServerPlayerEntity recipient) {
+        long version = component.getSyncVersion();
+        Long baseline = baselines.computeIfAbsent(component, c -> new MapMaker().weakKeys().makeMap()).put(recipient, version);
+
+        if (baseline != null) {
+            buf.writeBoolean(true);
+            component.writeDeltaSyncPacket(buf, recipient, baseline);
+        } else {
+            buf.writeBoolean(false);
+            component.writeFullSyncPacket(buf, recipient);
+        }
+    }
+
+    /**
+     * Discards {@code player}'s baseline for {@code component}, so that the next packet holds its full state.
+     */
+    public static void resetBaseline(Component component, ServerPlayerEntity player) {
+        if (component instanceof DeltaSyncedComponent) {
+            Map<ServerPlayerEntity, Long> playerBaselines = baselines.get(component);
+            if (playerBaselines != null) {
+                playerBaselines.remove(player);
+            }
+        }
+    }
+}
@@ -62,4 +62,22 @@ public interface InternalComponentProvider extends ComponentProvider, nerdhub.ca
     @Override
     @Nonnull
     ComponentContainer getComponentContainer();
+
+    /**
+     * Lets tick hooks skip providers which container does nothing when ticked.
+     * Implementations may cache the result, as it never changes for a given container.
+     *
+     * @see ComponentContainer#hasServerTickers()
+     */
+    default boolean hasServerTickingComponents() {
+        return this.getComponentContainer().hasServerTickers();
+    }
+
+    /**
+     * @see #hasServerTickingComponents()
+     * @see ComponentContainer#hasClientTickers()
+     */
+    default boolean hasClientTickingComponents() {
+        return this.getComponentContainer().hasClientTickers();
+    }
 }
@@ -0,0 +1,258 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.Packet;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Paces component sync packets sent to each player according to a per-tick byte budget.
+ *
+ * <p>The budget is set in bytes per tick with the {@code cca.sync.budget} system property, and the scheduler
+ * is disabled when it is not set. Packets are sent right away as long as the player's budget for the current tick
+ * allows it. Packets over budget are queued in one of several {@linkplain Priority priority classes},
+ * and sent at the end of the following ticks, highest priority first.
+ *
+ * <p>While a packet for a given provider and component is queued, later packets for the same component are queued
+ * behind it, so that they are never received out of order. If both packets hold the full state of the component,
+ * the newer one simply replaces the older one.
+ */
+public final class SyncScheduler {
+    public static final int BUDGET = Integer.getInteger("cca.sync.budget", 0);
+    /**
+     * Entities within this distance of the recipient get {@link Priority#NEARBY_ENTITY}
+     */
+    private static final double NEARBY_DISTANCE_SQ = 32 * 32;
+
+    private static final Object lock = new Object();
+    private static final Map<ServerPlayerEntity, PlayerQueue> queues = new HashMap<>();
+    private static volatile boolean enabled;
+
+    public static void init() {
+        if (BUDGET <= 0) {
+            return;
+        }
+        ServerTickEvents.END_SERVER_TICK.register(server -> flush());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            synchronized (lock) {
+                queues.clear();
+            }
+        });
+        enabled = true;
+    }
+
+    /**
+     * Sends a component sync packet to {@code player}, or queues it if the player's budget is exhausted.
+     *
+     * @param size      the size of the packet's payload
+     * @param fullState {@code true} if the packet holds the full state of the component, making older packets obsolete
+     */
+    public static void send(ServerPlayerEntity player, ComponentProvider provider, ComponentKey<?> key, Packet<?> packet, int size, boolean fullState) {
+        if (!enabled) {
+            ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet);
+            return;
+        }
+        synchronized (lock) {
+            PlayerQueue queue = queues.computeIfAbsent(player, PlayerQueue::new);
+            Target target = new Target(provider, key);
+            Entry pending = queue.latest.get(target);
+
+            if (pending != null) {
+                if (pending.fullState && fullState) {
+                    pending.packet = packet;
+                    pending.size = size;
+                } else {
+                    queue.enqueue(new Entry(target, packet, size, fullState, pending.priority));
+                }
+            } else if (queue.remaining >= size) {
+                queue.remaining -= size;
+                ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet);
+            } else {
+                queue.enqueue(new Entry(target, packet, size, fullState, Priority.of(player, provider)));
+            }
+        }
+    }
+
+    /**
+     * Accounts for a packet that has been sent to {@code player} outside of the scheduler.
+     */
+    public static void recordSent(ServerPlayerEntity player, int size) {
+        if (enabled) {
+            synchronized (lock) {
+                queues.computeIfAbsent(player, PlayerQueue::new).remaining -= size;
+            }
+        }
+    }
+
+    /**
+     * Drops the queued packets for {@code key} on {@code provider}, as the full state of the component
+     * is about to be sent to {@code player}.
+     */
+    public static void discard(ServerPlayerEntity player, ComponentProvider provider, ComponentKey<?> key) {
+        if (enabled) {
+            synchronized (lock) {
+                PlayerQueue queue = queues.get(player);
+                if (queue != null) {
+                    queue.discard(new Target(provider, key));
+                }
+            }
+        }
+    }
+
+    private static void flush() {
+        synchronized (lock) {
+            for (Iterator<PlayerQueue> it = queues.values().iterator(); it.hasNext(); ) {
+                PlayerQueue queue = it.next();
+                if (queue.player.removed) {
+                    it.remove();
+                    continue;
+                }
+                queue.remaining = BUDGET;
+                queue.flush();
+                if (queue.latest.isEmpty()) {
+                    // nothing left, the budget will be full again next tick anyway
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    enum Priority {
+        /** Components attached to the recipient itself */
+        OWN_PLAYER,
+        /** Components attached to entities close to the recipient */
+        NEARBY_ENTITY,
+        /** Components attached to other entities */
+        DISTANT_ENTITY,
+        /** Components attached to anything else (chunks, block entities, worlds, scoreboards...) */
+        WORLD;
+
+        static Priority of(ServerPlayerEntity player, ComponentProvider provider) {
+            if (provider == player) {
+                return OWN_PLAYER;
+            } else if (provider instanceof Entity) {
+                return ((Entity) provider).squaredDistanceTo(player) <= NEARBY_DISTANCE_SQ ? NEARBY_ENTITY : DISTANT_ENTITY;
+            }
+            return WORLD;
+        }
+    }
+
+    private static final class PlayerQueue {
+        final ServerPlayerEntity player;
+        final ArrayDeque<Entry>[] entries;
+        /**
+         * The last queued entry for each target
+         */
+        final Map<Target, Entry> latest = new HashMap<>();
+        int remaining = BUDGET;
+
+        @SuppressWarnings("unchecked")
+        PlayerQueue(ServerPlayerEntity player) {
+            this.player = player;
+            this.entries = new ArrayDeque[Priority.values().length];
+            for (int i = 0; i < this.entries.length; i++) {
+                this.entries[i] = new ArrayDeque<>();
+            }
+        }
+
+        void enqueue(Entry entry) {
+            this.entries[entry.priority.ordinal()].add(entry);
+            this.latest.put(entry.target, entry);
+        }
+
+        void discard(Target target) {
+            Entry last = this.latest.remove(target);
+            if (last != null) {
+                // every entry for a target shares the same priority
+                this.entries[last.priority.ordinal()].removeIf(e -> e.target.equals(target));
+            }
+        }
+
+        void flush() {
+            for (ArrayDeque<Entry> deque : this.entries) {
+                Entry entry;
+                // a packet bigger than the whole budget still gets sent once the budget is full
+                while ((entry = deque.peek()) != null && (this.remaining >= entry.size || this.remaining == BUDGET)) {
+                    deque.poll();
+                    this.remaining -= entry.size;
+                    this.latest.remove(entry.target, entry);
+                    ServerSidePacketRegistry.INSTANCE.sendToPlayer(this.player, entry.packet);
+                }
+                if (entry != null) {
+                    // lower priorities wait for this one
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Target target;
+        final boolean fullState;
+        final Priority priority;
+        Packet<?> packet;
+        int size;
+
+        Entry(Target target, Packet<?> packet, int size, boolean fullState, Priority priority) {
+            this.target = target;
+            this.packet = packet;
+            this.size = size;
+            this.fullState = fullState;
+            this.priority = priority;
+        }
+    }
+
+    private static final class Target {
+        private final ComponentProvider provider;
+        private final ComponentKey<?> key;
+
+        Target(ComponentProvider provider, ComponentKey<?> key) {
+            this.provider = provider;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || this.getClass() != o.getClass()) return false;
+            Target target = (Target) o;
+            return this.provider == target.provider && this.key == target.key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.provider) + this.key.hashCode();
+        }
+    }
+}
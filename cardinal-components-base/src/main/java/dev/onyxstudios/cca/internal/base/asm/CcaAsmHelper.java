@@ -27,6 +27,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.tick.ClientTickingComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import dev.onyxstudios.cca.internal.base.ComponentMetricsImpl;
 import dev.onyxstudios.cca.internal.base.ComponentRegistryImpl;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -36,9 +37,13 @@ import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
 import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.Component;
+import nerdhub.cardinal.components.api.component.extension.CopyableComponent;
+import nerdhub.cardinal.components.api.util.NbtSerializable;
 import nerdhub.cardinal.components.api.util.container.FastComponentContainer;
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
 import org.objectweb.asm.*;
 import org.objectweb.asm.tree.ClassNode;
@@ -52,6 +57,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -60,7 +66,7 @@ import java.util.stream.Collectors;
 public final class CcaAsmHelper {
 
     /**
-     * If {@code true}, any class generated through {@link #generateClass(ClassWriter, String)} will
+     * If {@code true}, any class generated through {@link #generateClass(ClassNode)} will
      * be checked and written to disk. Highly recommended when editing methods in this class.
      */
     public static final boolean DEBUG_CLASSES = Boolean.getBoolean("cca.debug.asm");
@@ -83,6 +89,28 @@ public final class CcaAsmHelper {
     public static final String STATIC_CONTAINER_FACTORY = "dev/onyxstudios/cca/_generated_/GeneratedContainerFactory";
     public static final String FAST_COMPONENT_CONTAINER_CTOR_DESC;
     public static final String CAN_BE_ASSIGNED_DESC;
+    public static final String CONTAINS_KEY_DESC;
+    public static final String TO_TAG_DESC;
+    public static final String FROM_TAG_DESC;
+    public static final String COPY_FROM_DESC;
+    public static final String COPYABLE_COMPONENT = Type.getInternalName(CopyableComponent.class);
+    public static final String COPYABLE_COMPONENT$COPY_FROM_DESC;
+    public static final String STATIC_CONTAINER_SUPPORT = Type.getInternalName(StaticContainerSupport.class);
+    public static final String SUPPORT$WRITE_COMPONENT_DESC;
+    public static final String SUPPORT$HAS_LEGACY_COMPONENT_LIST_DESC;
+    public static final String SUPPORT$GET_COMPONENT_MAP_DESC;
+    public static final String SUPPORT$READ_COMPONENT_DESC;
+    public static final String SUPPORT$WRITE_COMPONENT_MEASURED_DESC;
+    public static final String SUPPORT$READ_COMPONENT_MEASURED_DESC;
+    public static final String SUPPORT$SERVER_TICK_MEASURED_DESC;
+    public static final String SUPPORT$CLIENT_TICK_MEASURED_DESC;
+    public static final String SUPPORT$WARN_UNKNOWN_COMPONENTS_DESC;
+    public static final String SUPPORT$COPY_COMPONENT_DESC;
+    public static final String FIELD_SYNC_CODEC = Type.getInternalName(FieldSyncCodec.class);
+    public static final String FIELD_SYNC_CODEC_IMPL = "dev/onyxstudios/cca/_generated_/FieldSyncCodec";
+    public static final String FIELD_SYNC_SUPPORT = Type.getInternalName(FieldSyncSupport.class);
+    public static final String FIELD_SYNC_CODEC$WRITE_DESC;
+    public static final String FIELD_SYNC_CODEC$READ_DESC;
 
     static {
         try {
@@ -92,20 +120,62 @@ public final class CcaAsmHelper {
             COMPONENT_CONTAINER$GET_DESC = Type.getMethodDescriptor(nerdhub.cardinal.components.api.component.ComponentContainer.class.getMethod("get", ComponentType.class));
             FAST_COMPONENT_CONTAINER_CTOR_DESC = Type.getConstructorDescriptor(FastComponentContainer.class.getConstructor(int.class));
             CAN_BE_ASSIGNED_DESC = Type.getMethodDescriptor(FastComponentContainer.class.getDeclaredMethod("canBeAssigned", ComponentType.class));
+            CONTAINS_KEY_DESC = Type.getMethodDescriptor(FastComponentContainer.class.getMethod("containsKey", ComponentType.class));
+            // Using reflection so that the descriptors stay correct in remapped environments
+            TO_TAG_DESC = Type.getMethodDescriptor(NbtSerializable.class.getMethod("toTag", CompoundTag.class));
+            FROM_TAG_DESC = Type.getMethodDescriptor(NbtSerializable.class.getMethod("fromTag", CompoundTag.class));
+            SUPPORT$WRITE_COMPONENT_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("writeComponent", CompoundTag.class, CompoundTag.class, Component.class, String.class));
+            SUPPORT$HAS_LEGACY_COMPONENT_LIST_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("hasLegacyComponentList", CompoundTag.class));
+            SUPPORT$GET_COMPONENT_MAP_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("getComponentMap", CompoundTag.class));
+            SUPPORT$READ_COMPONENT_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("readComponent", CompoundTag.class, Component.class, String.class));
+            SUPPORT$WRITE_COMPONENT_MEASURED_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("writeComponentMeasured", CompoundTag.class, CompoundTag.class, Component.class, String.class, ComponentKey.class));
+            SUPPORT$READ_COMPONENT_MEASURED_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("readComponentMeasured", CompoundTag.class, Component.class, String.class, ComponentKey.class));
+            SUPPORT$SERVER_TICK_MEASURED_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("serverTickMeasured", ServerTickingComponent.class, ComponentKey.class));
+            SUPPORT$CLIENT_TICK_MEASURED_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("clientTickMeasured", ClientTickingComponent.class, ComponentKey.class));
+            SUPPORT$WARN_UNKNOWN_COMPONENTS_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("warnUnknownComponents", CompoundTag.class));
+            COPY_FROM_DESC = Type.getMethodDescriptor(ComponentContainer.class.getMethod("copyFrom", ComponentContainer.class));
+            COPYABLE_COMPONENT$COPY_FROM_DESC = Type.getMethodDescriptor(CopyableComponent.class.getMethod("copyFrom", Component.class));
+            SUPPORT$COPY_COMPONENT_DESC = Type.getMethodDescriptor(StaticContainerSupport.class.getMethod("copyComponent", Component.class, Component.class));
+            FIELD_SYNC_CODEC$WRITE_DESC = Type.getMethodDescriptor(FieldSyncCodec.class.getMethod("write", Object.class, PacketByteBuf.class));
+            FIELD_SYNC_CODEC$READ_DESC = Type.getMethodDescriptor(FieldSyncCodec.class.getMethod("read", Object.class, PacketByteBuf.class));
         } catch (NoSuchMethodException e) {
             throw new IllegalStateException("Failed to find one or more method descriptors", e);
         }
     }
 
     public static Class<?> generateClass(ClassNode classNode) throws IOException {
-        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
-        classNode.accept(writer);
-        return generateClass(writer, classNode.name);
+        long start = System.nanoTime();
+
+        try {
+            if (CcaClassCache.ENABLED) {
+                // frameless bytecode is cheap to produce and uniquely identifies the generated class
+                ClassWriter unframedWriter = new ClassWriter(0);
+                classNode.accept(unframedWriter);
+                byte[] unframedBytes = unframedWriter.toByteArray();
+                byte[] cached = CcaClassCache.INSTANCE.load(classNode.name, unframedBytes);
+
+                if (cached != null) {
+                    return CcaClassLoader.INSTANCE.define(classNode.name.replace('/', '.'), cached);
+                }
+
+                ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+                classNode.accept(writer);
+                byte[] bytes = writer.toByteArray();
+                Class<?> ret = generateClass(bytes, classNode.name);
+                CcaClassCache.INSTANCE.store(classNode.name, unframedBytes, bytes);
+                return ret;
+            }
+
+            ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+            classNode.accept(writer);
+            return generateClass(writer.toByteArray(), classNode.name);
+        } finally {
+            CcaClassCache.INSTANCE.recordGenerationTime(System.nanoTime() - start);
+        }
     }
 
-    private static Class<?> generateClass(ClassWriter classWriter, String className) throws IOException {
+    private static Class<?> generateClass(byte[] bytes, String className) throws IOException {
         try {
-            byte[] bytes = classWriter.toByteArray();
             if (DEBUG_CLASSES) {
                 ClassReader classReader = new ClassReader(bytes);
                 classReader.accept(new CheckClassAdapter(null), 0);
@@ -299,12 +369,6 @@ public final class CcaAsmHelper {
             // store in the field
             init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
             // <empty stack>
-            init.visitVarInsn(Opcodes.ALOAD, 0);
-            // stack: <this>
-            stackStaticComponentType(init, identifier);
-            // stack: <this> componentType
-            init.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "addContainedType", "(L" + COMPONENT_TYPE + ";)V", false);
-            // <empty stack>
 
             /* getter implementation */
             MethodVisitor getter = classNode.visitMethod(
@@ -323,10 +387,18 @@ public final class CcaAsmHelper {
 
             /* tick implementation */
             if (ServerTickingComponent.class.isAssignableFrom(impl)) {
-                generateTickImpl(containerImplName, serverTick, componentFieldName, impl, componentFieldDescriptor, "serverTick");
+                if (ComponentMetricsImpl.ENABLED) {
+                    generateMeasuredTickImpl(containerImplName, serverTick, identifier, componentFieldName, componentFieldDescriptor, "serverTickMeasured", SUPPORT$SERVER_TICK_MEASURED_DESC);
+                } else {
+                    generateTickImpl(containerImplName, serverTick, componentFieldName, impl, componentFieldDescriptor, "serverTick");
+                }
             }
             if (ClientTickingComponent.class.isAssignableFrom(impl)) {
-                generateTickImpl(containerImplName, clientTick, componentFieldName, impl, componentFieldDescriptor, "clientTick");
+                if (ComponentMetricsImpl.ENABLED) {
+                    generateMeasuredTickImpl(containerImplName, clientTick, identifier, componentFieldName, componentFieldDescriptor, "clientTickMeasured", SUPPORT$CLIENT_TICK_MEASURED_DESC);
+                } else {
+                    generateTickImpl(containerImplName, clientTick, componentFieldName, impl, componentFieldDescriptor, "clientTick");
+                }
             }
         }
         init.visitInsn(Opcodes.RETURN);
@@ -336,8 +408,14 @@ public final class CcaAsmHelper {
         clientTick.visitInsn(Opcodes.RETURN);
         clientTick.visitEnd();
 
+        // the generated tick methods only ever tick static components, so these flags are exact
+        generateConstantGetter(classNode, "hasServerTickers", componentFactories.keySet().stream().map(componentImpls::get).anyMatch(ServerTickingComponent.class::isAssignableFrom));
+        generateConstantGetter(classNode, "hasClientTickers", componentFactories.keySet().stream().map(componentImpls::get).anyMatch(ClientTickingComponent.class::isAssignableFrom));
+
         if (!componentFactories.isEmpty()) {
             generateLookupMethods(componentFactories.keySet(), containerImplName, classNode, componentFieldDescriptors);
+            generateSerializationMethods(componentFactories.keySet(), containerImplName, classNode, componentFieldDescriptors);
+            generateCopyFrom(componentFactories.keySet(), containerImplName, classNode, componentFieldDescriptors, componentImpls);
         }
 
         Class<? extends ComponentContainer> ret = generateClass(classNode).asSubclass(ComponentContainer.class);
@@ -363,6 +441,14 @@ public final class CcaAsmHelper {
         return ret;
     }
 
+    private static void generateConstantGetter(ClassNode classNode, String name, boolean value) {
+        MethodVisitor getter = classNode.visitMethod(Opcodes.ACC_PUBLIC, name, "()Z", null, null);
+        getter.visitCode();
+        getter.visitInsn(value ? Opcodes.ICONST_1 : Opcodes.ICONST_0);
+        getter.visitInsn(Opcodes.IRETURN);
+        getter.visitEnd();
+    }
+
     private static void generateTickImpl(String containerImplName, MethodVisitor tick, String componentFieldName, Class<? extends Component> impl, String componentFieldDescriptor, String target) {
         tick.visitVarInsn(Opcodes.ALOAD, 0);
         // stack: <this>
@@ -375,22 +461,51 @@ public final class CcaAsmHelper {
         }
     }
 
+    private static void generateMeasuredTickImpl(String containerImplName, MethodVisitor tick, Identifier componentId, String componentFieldName, String componentFieldDescriptor, String supportMethod, String supportMethodDesc) {
+        tick.visitVarInsn(Opcodes.ALOAD, 0);
+        // stack: <this>
+        tick.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+        // stack: component
+        stackStaticComponentType(tick, componentId);
+        // stack: component componentKey
+        tick.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, supportMethod, supportMethodDesc, false);
+    }
+
     // TODO V3 remove when dynamic components are gone
     private static void generateLookupMethods(Set<ComponentKey<?>> components, String containerImplName, ClassNode classNode, Int2ObjectMap<String> componentFieldDescriptors) {
+        // static components are answered from constants, dynamic storage only gets queried if it exists
+        MethodVisitor size = classNode.visitMethod(Opcodes.ACC_PUBLIC, "size", "()I", null, null);
+        size.visitCode();
+        size.visitLdcInsn(components.size());
+        // stack: staticSize
+        size.visitVarInsn(Opcodes.ALOAD, 0);
+        size.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "dynamicSize", "()I", false);
+        // stack: staticSize dynamicSize
+        size.visitInsn(Opcodes.IADD);
+        size.visitInsn(Opcodes.IRETURN);
+        size.visitEnd();
+
+        MethodVisitor containsKey = classNode.visitMethod(Opcodes.ACC_PUBLIC, "containsKey", CONTAINS_KEY_DESC, null, null);
         MethodVisitor canBeAssigned = classNode.visitMethod(Opcodes.ACC_PROTECTED, "canBeAssigned", CAN_BE_ASSIGNED_DESC, null, null);
         MethodVisitor get = classNode.visitMethod(Opcodes.ACC_PUBLIC, "get", COMPONENT_CONTAINER$GET_DESC, null, null);
         canBeAssigned.visitVarInsn(Opcodes.ALOAD, 1);
         // stack[canBeAssigned]: componentType
+        containsKey.visitVarInsn(Opcodes.ALOAD, 1);
+        // stack[containsKey]: componentType
         get.visitVarInsn(Opcodes.ALOAD, 0);
         get.visitVarInsn(Opcodes.ALOAD, 1);
         // stack[get]: <this> componentType
         canBeAssigned.visitMethodInsn(Opcodes.INVOKEVIRTUAL, COMPONENT_TYPE, "getRawId", "()I", false);
         // stack[canBeAssigned]: rawId
+        containsKey.visitMethodInsn(Opcodes.INVOKEVIRTUAL, COMPONENT_TYPE, "getRawId", "()I", false);
+        // stack[containsKey]: rawId
         get.visitMethodInsn(Opcodes.INVOKEVIRTUAL, COMPONENT_TYPE, "getRawId", "()I", false);
         // stack[get]: <this> rawId
         Label yesAssign = new Label();
         Label noAssign = new Label();
         Label defaultGetCase = new Label();
+        Label contained = new Label();
+        Label notContained = new Label();
         Int2ObjectSortedMap<Identifier> raw2Id = components.stream().collect(Collectors.toMap(
             ComponentKey::getRawId,
             ComponentKey::getId, (r, r2) -> {
@@ -400,13 +515,28 @@ public final class CcaAsmHelper {
         int nbCases = raw2Id.lastIntKey() + 1;  // 0 is a valid raw id
         Label[] getLabels = new Label[nbCases];
         Label[] canBeAssignedLabels = new Label[nbCases];
+        Label[] containsKeyLabels = new Label[nbCases];
         for (int i = 0; i < nbCases; i++) {
-            boolean contained = raw2Id.containsKey(i);
-            getLabels[i] = contained ? new Label() : defaultGetCase;
-            canBeAssignedLabels[i] = contained ? noAssign : yesAssign;
+            boolean isStatic = raw2Id.containsKey(i);
+            getLabels[i] = isStatic ? new Label() : defaultGetCase;
+            canBeAssignedLabels[i] = isStatic ? noAssign : yesAssign;
+            containsKeyLabels[i] = isStatic ? contained : notContained;
         }
         canBeAssigned.visitTableSwitchInsn(0, nbCases - 1, yesAssign, canBeAssignedLabels);
         // <empty stack[canBeAssigned]>
+        containsKey.visitTableSwitchInsn(0, nbCases - 1, notContained, containsKeyLabels);
+        // <empty stack[containsKey]>
+        containsKey.visitLabel(contained);
+        containsKey.visitInsn(Opcodes.ICONST_1);
+        // stack[containsKey]: <true>
+        containsKey.visitInsn(Opcodes.IRETURN);
+        containsKey.visitLabel(notContained);
+        // <empty stack[containsKey]>
+        containsKey.visitVarInsn(Opcodes.ALOAD, 0);
+        containsKey.visitVarInsn(Opcodes.ALOAD, 1);
+        containsKey.visitMethodInsn(Opcodes.INVOKESPECIAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "containsKey", CONTAINS_KEY_DESC, false);
+        containsKey.visitInsn(Opcodes.IRETURN);
+        containsKey.visitEnd();
         get.visitTableSwitchInsn(0, nbCases - 1, defaultGetCase, getLabels);
         // stack[get]: <this>
 
@@ -437,6 +567,250 @@ public final class CcaAsmHelper {
         get.visitEnd();
     }
 
+    /**
+     * Generates unrolled {@code toTag} and {@code fromTag} implementations, using the key ids as constants.
+     *
+     * <p>The serialized format is the same as the one produced by {@link nerdhub.cardinal.components.api.util.container.AbstractComponentContainer}.
+     * Containers holding dynamic components and tags using the legacy list format are handled by the generic implementation.
+     */
+    // TODO V3 remove the generic fallback when dynamic components are gone
+    private static void generateSerializationMethods(Set<ComponentKey<?>> components, String containerImplName, ClassNode classNode, Int2ObjectMap<String> componentFieldDescriptors) {
+        MethodVisitor toTag = classNode.visitMethod(Opcodes.ACC_PUBLIC, "toTag", TO_TAG_DESC, null, null);
+        toTag.visitCode();
+        Label staticToTag = new Label();
+        toTag.visitVarInsn(Opcodes.ALOAD, 0);
+        toTag.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "dynamicSize", "()I", false);
+        // stack: dynamicSize
+        toTag.visitJumpInsn(Opcodes.IFEQ, staticToTag);
+        // <empty stack>
+        toTag.visitVarInsn(Opcodes.ALOAD, 0);
+        toTag.visitVarInsn(Opcodes.ALOAD, 1);
+        // stack: <this> tag
+        toTag.visitMethodInsn(Opcodes.INVOKESPECIAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "toTag", TO_TAG_DESC, false);
+        // stack: tag
+        toTag.visitInsn(Opcodes.ARETURN);
+        toTag.visitLabel(staticToTag);
+        toTag.visitInsn(Opcodes.ACONST_NULL);
+        toTag.visitVarInsn(Opcodes.ASTORE, 2);
+        // locals: <this> tag componentMap
+
+        MethodVisitor fromTag = classNode.visitMethod(Opcodes.ACC_PUBLIC, "fromTag", FROM_TAG_DESC, null, null);
+        fromTag.visitCode();
+        Label genericFromTag = new Label();
+        Label end = new Label();
+        fromTag.visitVarInsn(Opcodes.ALOAD, 0);
+        fromTag.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "dynamicSize", "()I", false);
+        // stack: dynamicSize
+        fromTag.visitJumpInsn(Opcodes.IFNE, genericFromTag);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 1);
+        fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "hasLegacyComponentList", SUPPORT$HAS_LEGACY_COMPONENT_LIST_DESC, false);
+        // stack: isLegacy
+        fromTag.visitJumpInsn(Opcodes.IFNE, genericFromTag);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 1);
+        fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "getComponentMap", SUPPORT$GET_COMPONENT_MAP_DESC, false);
+        // stack: componentMap
+        fromTag.visitVarInsn(Opcodes.ASTORE, 2);
+        // locals: <this> tag componentMap
+        fromTag.visitVarInsn(Opcodes.ALOAD, 2);
+        fromTag.visitJumpInsn(Opcodes.IFNULL, end);
+
+        for (ComponentKey<?> key : components) {
+            Identifier identifier = key.getId();
+            String componentFieldName = getJavaIdentifierName(identifier);
+            String componentFieldDescriptor = componentFieldDescriptors.get(key.getRawId());
+            String keyId = identifier.toString();
+
+            toTag.visitVarInsn(Opcodes.ALOAD, 1);
+            toTag.visitVarInsn(Opcodes.ALOAD, 2);
+            toTag.visitVarInsn(Opcodes.ALOAD, 0);
+            toTag.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+            toTag.visitLdcInsn(keyId);
+            // stack: tag componentMap component keyId
+            if (ComponentMetricsImpl.ENABLED) {
+                stackStaticComponentType(toTag, identifier);
+                // stack: tag componentMap component keyId componentKey
+                toTag.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "writeComponentMeasured", SUPPORT$WRITE_COMPONENT_MEASURED_DESC, false);
+            } else {
+                toTag.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "writeComponent", SUPPORT$WRITE_COMPONENT_DESC, false);
+            }
+            // stack: componentMap
+            toTag.visitVarInsn(Opcodes.ASTORE, 2);
+
+            fromTag.visitVarInsn(Opcodes.ALOAD, 2);
+            fromTag.visitVarInsn(Opcodes.ALOAD, 0);
+            fromTag.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+            fromTag.visitLdcInsn(keyId);
+            // stack: componentMap component keyId
+            if (ComponentMetricsImpl.ENABLED) {
+                stackStaticComponentType(fromTag, identifier);
+                // stack: componentMap component keyId componentKey
+                fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "readComponentMeasured", SUPPORT$READ_COMPONENT_MEASURED_DESC, false);
+            } else {
+                fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "readComponent", SUPPORT$READ_COMPONENT_DESC, false);
+            }
+            // <empty stack>
+        }
+
+        toTag.visitVarInsn(Opcodes.ALOAD, 1);
+        toTag.visitInsn(Opcodes.ARETURN);
+        toTag.visitEnd();
+
+        fromTag.visitVarInsn(Opcodes.ALOAD, 2);
+        fromTag.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "warnUnknownComponents", SUPPORT$WARN_UNKNOWN_COMPONENTS_DESC, false);
+        fromTag.visitLabel(end);
+        fromTag.visitInsn(Opcodes.RETURN);
+        fromTag.visitLabel(genericFromTag);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 0);
+        fromTag.visitVarInsn(Opcodes.ALOAD, 1);
+        fromTag.visitMethodInsn(Opcodes.INVOKESPECIAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "fromTag", FROM_TAG_DESC, false);
+        fromTag.visitInsn(Opcodes.RETURN);
+        fromTag.visitEnd();
+    }
+
+    /**
+     * Generates a {@code copyFrom} implementation that copies components field to field when both containers
+     * are instances of the same generated class.
+     *
+     * <p>Components implementing {@link CopyableComponent} get their {@code copyFrom} method called directly,
+     * other components go through an NBT round trip like in {@link nerdhub.cardinal.components.api.util.container.AbstractComponentContainer}.
+     * Copies between different container classes, or involving dynamic components, are handled by the generic implementation.
+     */
+    // TODO V3 remove the dynamic component check when dynamic components are gone
+    private static void generateCopyFrom(Set<ComponentKey<?>> components, String containerImplName, ClassNode classNode, Int2ObjectMap<String> componentFieldDescriptors, Map<ComponentKey<?>, Class<? extends Component>> componentImpls) {
+        MethodVisitor copyFrom = classNode.visitMethod(Opcodes.ACC_PUBLIC, "copyFrom", COPY_FROM_DESC, null, null);
+        copyFrom.visitCode();
+        Label genericCopy = new Label();
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 0);
+        copyFrom.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "dynamicSize", "()I", false);
+        // stack: dynamicSize
+        copyFrom.visitJumpInsn(Opcodes.IFNE, genericCopy);
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 1);
+        copyFrom.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Object", "getClass", "()Ljava/lang/Class;", false);
+        copyFrom.visitLdcInsn(Type.getObjectType(containerImplName));
+        // stack: otherClass thisClass
+        copyFrom.visitJumpInsn(Opcodes.IF_ACMPNE, genericCopy);
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 1);
+        copyFrom.visitTypeInsn(Opcodes.CHECKCAST, containerImplName);
+        copyFrom.visitVarInsn(Opcodes.ASTORE, 2);
+        // locals: <this> other otherImpl
+
+        for (ComponentKey<?> key : components) {
+            String componentFieldName = getJavaIdentifierName(key.getId());
+            String componentFieldDescriptor = componentFieldDescriptors.get(key.getRawId());
+
+            copyFrom.visitVarInsn(Opcodes.ALOAD, 0);
+            copyFrom.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+            copyFrom.visitVarInsn(Opcodes.ALOAD, 2);
+            copyFrom.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+            // stack: ours theirs
+
+            // the declared class may be an interface, in which case copyComponent checks the actual class
+            if (CopyableComponent.class.isAssignableFrom(componentImpls.get(key))) {
+                Label skip = new Label();
+                copyFrom.visitInsn(Opcodes.DUP2);
+                // stack: ours theirs ours theirs
+                copyFrom.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Object", "equals", "(Ljava/lang/Object;)Z", false);
+                // stack: ours theirs equal
+                Label copy = new Label();
+                copyFrom.visitJumpInsn(Opcodes.IFEQ, copy);
+                // stack: ours theirs
+                copyFrom.visitInsn(Opcodes.POP2);
+                copyFrom.visitJumpInsn(Opcodes.GOTO, skip);
+                copyFrom.visitLabel(copy);
+                // stack: ours theirs
+                copyFrom.visitMethodInsn(Opcodes.INVOKEINTERFACE, COPYABLE_COMPONENT, "copyFrom", COPYABLE_COMPONENT$COPY_FROM_DESC, true);
+                // <empty stack>
+                copyFrom.visitLabel(skip);
+            } else {
+                copyFrom.visitMethodInsn(Opcodes.INVOKESTATIC, STATIC_CONTAINER_SUPPORT, "copyComponent", SUPPORT$COPY_COMPONENT_DESC, false);
+                // <empty stack>
+            }
+        }
+
+        copyFrom.visitInsn(Opcodes.RETURN);
+        copyFrom.visitLabel(genericCopy);
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 0);
+        copyFrom.visitVarInsn(Opcodes.ALOAD, 1);
+        copyFrom.visitMethodInsn(Opcodes.INVOKESPECIAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "copyFrom", COPY_FROM_DESC, false);
+        copyFrom.visitInsn(Opcodes.RETURN);
+        copyFrom.visitEnd();
+    }
+
+    /**
+     * Defines a {@link FieldSyncCodec} that reads and writes the given fields of a component class.
+     *
+     * <p>The generated methods access each field directly and call the matching {@link FieldSyncSupport} method,
+     * so the component class and every field must be public.
+     *
+     * @param componentClass the class of the component to synchronize
+     * @param fields         the fields to synchronize, in wire order
+     * @return the generated codec class
+     */
+    public static Class<? extends FieldSyncCodec> spinFieldSyncCodec(Class<?> componentClass, List<Field> fields) throws IOException {
+        String componentName = Type.getInternalName(componentClass);
+        String codecImplName = FIELD_SYNC_CODEC_IMPL + '_' + componentClass.getName().replace('.', '$');
+        ClassNode classNode = new ClassNode(ASM_VERSION);
+        classNode.visit(
+            Opcodes.V1_8,
+            Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+            codecImplName,
+            null,
+            FIELD_SYNC_CODEC,
+            null
+        );
+
+        MethodVisitor init = classNode.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, FIELD_SYNC_CODEC, "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitEnd();
+
+        MethodVisitor write = classNode.visitMethod(Opcodes.ACC_PUBLIC, "write", FIELD_SYNC_CODEC$WRITE_DESC, null, null);
+        write.visitCode();
+        MethodVisitor read = classNode.visitMethod(Opcodes.ACC_PUBLIC, "read", FIELD_SYNC_CODEC$READ_DESC, null, null);
+        read.visitCode();
+
+        for (Field field : fields) {
+            Class<?> fieldType = field.getType();
+            String owner = Type.getInternalName(field.getDeclaringClass());
+            String fieldDescriptor = Type.getDescriptor(fieldType);
+            Method writer = FieldSyncSupport.getWriter(fieldType);
+            Method reader = FieldSyncSupport.getReader(fieldType);
+            assert writer != null && reader != null;
+
+            write.visitVarInsn(Opcodes.ALOAD, 2);
+            write.visitVarInsn(Opcodes.ALOAD, 1);
+            write.visitTypeInsn(Opcodes.CHECKCAST, componentName);
+            write.visitFieldInsn(Opcodes.GETFIELD, owner, field.getName(), fieldDescriptor);
+            // stack: buf value
+            write.visitMethodInsn(Opcodes.INVOKESTATIC, FIELD_SYNC_SUPPORT, writer.getName(), Type.getMethodDescriptor(writer), false);
+            // <empty stack>
+
+            read.visitVarInsn(Opcodes.ALOAD, 1);
+            read.visitTypeInsn(Opcodes.CHECKCAST, componentName);
+            read.visitVarInsn(Opcodes.ALOAD, 2);
+            // stack: component buf
+            if (fieldType.isEnum()) {
+                read.visitLdcInsn(Type.getType(fieldType));
+                read.visitMethodInsn(Opcodes.INVOKESTATIC, FIELD_SYNC_SUPPORT, reader.getName(), Type.getMethodDescriptor(reader), false);
+                read.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(fieldType));
+            } else {
+                read.visitMethodInsn(Opcodes.INVOKESTATIC, FIELD_SYNC_SUPPORT, reader.getName(), Type.getMethodDescriptor(reader), false);
+            }
+            // stack: component value
+            read.visitFieldInsn(Opcodes.PUTFIELD, owner, field.getName(), fieldDescriptor);
+            // <empty stack>
+        }
+
+        write.visitInsn(Opcodes.RETURN);
+        write.visitEnd();
+        read.visitInsn(Opcodes.RETURN);
+        read.visitEnd();
+
+        return generateClass(classNode).asSubclass(FieldSyncCodec.class);
+    }
+
     private static String getFactoryFieldName(Identifier identifier) {
         return getJavaIdentifierName(identifier) + "$factory";
     }
@@ -110,6 +110,7 @@ public final class CcaBootstrap extends LazyDispatcher {
         for (EntrypointContainer<StaticComponentInitializer> staticInitializer : this.staticComponentInitializers) {
             staticInitializer.getEntrypoint().finalizeStaticBootstrap();
         }
+        CcaClassCache.INSTANCE.logReport("static component bootstrap");
     }
 
     /**
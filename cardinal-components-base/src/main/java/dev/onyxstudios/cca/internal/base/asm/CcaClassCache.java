@@ -0,0 +1,222 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModMetadata;
+import org.apache.logging.log4j.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An opt-in, on-disk cache for the bytecode of generated classes.
+ *
+ * <p>Enabled by setting the {@code cca.cache.classes} system property to {@code true}.
+ * Cached classes are stored under {@code <game dir>/.cardinal-components/class-cache/<environment hash>},
+ * where the environment hash covers every loaded mod's id and version. Each class file is additionally keyed
+ * by a hash of its frameless bytecode, which reflects every input of the generation (component ids, raw ids,
+ * factory registrations and implementation classes). A warm cache therefore only skips the expensive part of
+ * class generation, that is frame computation and verification, and can never return stale bytecode.
+ *
+ * <p>Only the cache of the current environment is kept: when the environment changes, the directories
+ * of other environments are deleted.
+ */
+public final class CcaClassCache {
+    public static final boolean ENABLED = Boolean.getBoolean("cca.cache.classes");
+    public static final CcaClassCache INSTANCE = new CcaClassCache();
+    // bump whenever the cache layout changes
+    private static final int CACHE_FORMAT = 1;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicLong generationNanos = new AtomicLong();
+    private volatile Path cacheDir;
+
+    private CcaClassCache() { }
+
+    /**
+     * @param className    the internal name of the generated class
+     * @param unframedBytes the bytecode of the class, written without frames
+     * @return the cached bytecode, or {@code null} if the class is not cached
+     */
+    @Nullable
+    public byte[] load(String className, byte[] unframedBytes) {
+        Path file = this.getCacheFile(className, unframedBytes);
+
+        if (file != null) {
+            try {
+                byte[] ret = Files.readAllBytes(file);
+                this.hits.incrementAndGet();
+                return ret;
+            } catch (NoSuchFileException ignored) {
+                // cache miss
+            } catch (IOException e) {
+                ComponentsInternals.LOGGER.warn("Failed to read cached class " + className, e);
+            }
+        }
+
+        this.misses.incrementAndGet();
+        return null;
+    }
+
+    public void store(String className, byte[] unframedBytes, byte[] bytes) {
+        Path file = this.getCacheFile(className, unframedBytes);
+
+        if (file != null) {
+            try {
+                Files.createDirectories(file.getParent());
+                Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                Files.write(tmp, bytes);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                ComponentsInternals.LOGGER.warn("Failed to cache generated class " + className, e);
+            }
+        }
+    }
+
+    void recordGenerationTime(long nanos) {
+        this.generationNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Logs the amount of time spent defining generated classes so far, along with the state of the cache.
+     *
+     * <p>Comparing the report of a run with an empty cache to the one of a subsequent run gives
+     * the startup time saved by the cache. The report is logged at the debug level when the cache is disabled.
+     *
+     * @param phase a description of the point at which the report is made
+     */
+    public void logReport(String phase) {
+        int hits = this.hits.get();
+        int misses = this.misses.get();
+        ComponentsInternals.LOGGER.log(ENABLED ? Level.INFO : Level.DEBUG, String.format(
+            "Spent %.2f ms defining %d generated classes (%s) after %s, class cache %s: %d hits, %d misses",
+            this.generationNanos.get() / 1_000_000.0,
+            hits + misses,
+            ENABLED ? (misses == 0 ? "warm" : hits == 0 ? "cold" : "partially warm") : "no cache",
+            phase,
+            ENABLED ? "enabled" : "disabled",
+            hits,
+            misses
+        ));
+    }
+
+    @Nullable
+    private Path getCacheFile(String className, byte[] unframedBytes) {
+        if (!ENABLED) return null;
+        String binaryName = className.replace('/', '.');
+        return this.getCacheDir().resolve(binaryName + "." + hash(unframedBytes) + ".class");
+    }
+
+    private Path getCacheDir() {
+        Path dir = this.cacheDir;
+
+        if (dir == null) {
+            synchronized (this) {
+                dir = this.cacheDir;
+                if (dir == null) {
+                    dir = FabricLoader.getInstance().getGameDir()
+                        .resolve(".cardinal-components")
+                        .resolve("class-cache")
+                        .resolve(computeEnvironmentHash());
+                    if (!Files.isDirectory(dir)) {
+                        deleteOtherEnvironments(dir);
+                    }
+                    this.cacheDir = dir;
+                }
+            }
+        }
+
+        return dir;
+    }
+
+    /**
+     * Deletes the cached classes of every environment other than the one using {@code currentDir}.
+     */
+    private static void deleteOtherEnvironments(Path currentDir) {
+        Path root = currentDir.getParent();
+
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        try (Stream<Path> environments = Files.list(root)) {
+            for (Path environment : (Iterable<Path>) environments::iterator) {
+                if (!environment.equals(currentDir) && Files.isDirectory(environment)) {
+                    deleteRecursively(environment);
+                }
+            }
+        } catch (IOException e) {
+            ComponentsInternals.LOGGER.warn("Failed to delete outdated class cache directories in " + root, e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            // children before their parents
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        ComponentsInternals.LOGGER.debug("Deleted outdated class cache directory {}", dir);
+    }
+
+    private static String computeEnvironmentHash() {
+        List<String> mods = FabricLoader.getInstance().getAllMods().stream()
+            .map(ModContainer::getMetadata)
+            .sorted(Comparator.comparing(ModMetadata::getId))
+            .map(meta -> meta.getId() + "@" + meta.getVersion().getFriendlyString())
+            .collect(Collectors.toList());
+        String environment = "format=" + CACHE_FORMAT + ";env=" + FabricLoader.getInstance().getEnvironmentType() + ";mods=" + String.join(",", mods);
+        return hash(environment.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
@@ -26,6 +26,11 @@ package dev.onyxstudios.cca.internal.base.asm;
  * A class loader allowing the creation of any class from its bytecode, as well as its injection into the classpath
  */
 public class CcaClassLoader extends ClassLoader {
+    static {
+        // containers may be generated from several threads at once
+        registerAsParallelCapable();
+    }
+
     public static final CcaClassLoader INSTANCE = new CcaClassLoader();
 
     private CcaClassLoader() {
@@ -0,0 +1,110 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates component containers ahead of time, before the game starts instantiating their providers.
+ *
+ * <p>Generation of each class is independent, so it is spread over a small worker pool. The calling thread
+ * blocks until every class has been defined, so that providers created afterwards never have to generate anything.
+ * The warm-up can be disabled by setting the {@code cca.warmup.disable} system property to {@code true}.
+ */
+public final class ContainerWarmup {
+    public static final boolean ENABLED = !Boolean.getBoolean("cca.warmup.disable");
+    private static final int MAX_THREADS = 4;
+
+    private ContainerWarmup() { throw new AssertionError(); }
+
+    /**
+     * Runs {@code generator} for every target on a bounded worker pool, and waits for all of them to complete.
+     *
+     * <p>The generator must not mutate shared state; results should instead be published by the caller
+     * from the returned map.
+     *
+     * @param phase     a human-readable description of the warm-up, used for logging
+     * @param targets   the objects for which a class should be generated
+     * @param generator the function generating a class for a single target
+     * @return a map of every target to its generated class, in iteration order
+     * @throws StaticComponentLoadingException if generation failed for any of the targets
+     */
+    public static <T, R> Map<T, R> generateAll(String phase, Collection<T> targets, Generator<T, R> generator) {
+        Map<T, R> ret = new LinkedHashMap<>();
+
+        if (targets.isEmpty()) {
+            return ret;
+        }
+
+        // initialize on the calling thread, everything past this point is read-only
+        CcaBootstrap.INSTANCE.ensureInitialized();
+
+        int threads = Math.max(1, Math.min(Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_THREADS), targets.size()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "CCA Container Warmup #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<R>> futures = new ArrayList<>(targets.size());
+
+            for (T target : targets) {
+                futures.add(pool.submit(() -> generator.generate(target)));
+            }
+
+            int i = 0;
+            for (T target : targets) {
+                try {
+                    ret.put(target, futures.get(i++).get());
+                } catch (ExecutionException e) {
+                    throw new StaticComponentLoadingException("Failed to generate a component container for " + target + " during " + phase, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new StaticComponentLoadingException("Interrupted during " + phase, e);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        CcaClassCache.INSTANCE.logReport(phase);
+        return ret;
+    }
+
+    @FunctionalInterface
+    public interface Generator<T, R> {
+        R generate(T target) throws IOException;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import dev.onyxstudios.cca.api.v3.component.sync.FieldSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.SyncedField;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the {@link SyncedField synced fields} of a {@link FieldSyncedComponent} class.
+ *
+ * <p>Codecs for public classes with public fields of public types are generated by {@link CcaAsmHelper#spinFieldSyncCodec},
+ * other classes get a slower implementation based on method handles. Both use the same format.
+ */
+public abstract class FieldSyncCodec {
+    private static final ClassValue<FieldSyncCodec> CODECS = new ClassValue<FieldSyncCodec>() {
+        @Override
+        protected FieldSyncCodec computeValue(Class<?> type) {
+            return create(type, true);
+        }
+    };
+    /**
+     * Generated codec classes, guarded by itself. {@link ClassValue} may compute the same value concurrently,
+     * and a codec class can only be defined once per component class.
+     */
+    private static final Map<Class<?>, Class<? extends FieldSyncCodec>> GENERATED_CODECS = new HashMap<>();
+    private static final ClassValue<Boolean> DEFAULT_WRITER = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("writeSyncPacket", PacketByteBuf.class, ServerPlayerEntity.class).getDeclaringClass() == FieldSyncedComponent.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    public static FieldSyncCodec get(Class<?> componentClass) {
+        return CODECS.get(componentClass);
+    }
+
+    /**
+     * @return {@code true} if the given component class uses the default {@link FieldSyncedComponent#writeSyncPacket} implementation
+     */
+    public static boolean usesDefaultWriter(Class<?> componentClass) {
+        return DEFAULT_WRITER.get(componentClass);
+    }
+
+    public abstract void write(Object component, PacketByteBuf buf);
+
+    public abstract void read(Object component, PacketByteBuf buf);
+
+    /**
+     * @param allowGenerated {@code false} to always use the method handle implementation
+     */
+    static FieldSyncCodec create(Class<?> componentClass, boolean allowGenerated) {
+        List<Field> fields = collectSyncedFields(componentClass);
+        boolean accessible = Modifier.isPublic(componentClass.getModifiers());
+
+        for (Field field : fields) {
+            int mod = field.getModifiers();
+            if (Modifier.isStatic(mod) || Modifier.isFinal(mod)) {
+                throw new StaticComponentLoadingException("Synced field " + field + " must be neither static nor final");
+            }
+            if (FieldSyncSupport.getWriter(field.getType()) == null) {
+                throw new StaticComponentLoadingException("Synced field " + field + " has unsupported type " + field.getType().getName());
+            }
+            // the generated codec also references the field's type, e.g. to cast enum values
+            accessible &= Modifier.isPublic(mod)
+                && Modifier.isPublic(field.getDeclaringClass().getModifiers())
+                && Modifier.isPublic(field.getType().getModifiers());
+        }
+
+        try {
+            if (accessible && allowGenerated) {
+                return getGeneratedCodecClass(componentClass, fields).getConstructor().newInstance();
+            }
+            return new MethodHandleCodec(fields);
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new StaticComponentLoadingException("Failed to generate a sync codec for " + componentClass, e);
+        }
+    }
+
+    private static Class<? extends FieldSyncCodec> getGeneratedCodecClass(Class<?> componentClass, List<Field> fields) throws IOException {
+        synchronized (GENERATED_CODECS) {
+            Class<? extends FieldSyncCodec> ret = GENERATED_CODECS.get(componentClass);
+
+            if (ret == null) {
+                ret = CcaAsmHelper.spinFieldSyncCodec(componentClass, fields);
+                GENERATED_CODECS.put(componentClass, ret);
+            }
+
+            return ret;
+        }
+    }
+
+    /**
+     * @return every field annotated with {@link SyncedField}, superclass fields first then sorted by name
+     */
+    private static List<Field> collectSyncedFields(Class<?> componentClass) {
+        List<Field> ret = new ArrayList<>();
+        if (componentClass.getSuperclass() != null) {
+            ret.addAll(collectSyncedFields(componentClass.getSuperclass()));
+        }
+        List<Field> own = new ArrayList<>();
+        for (Field field : componentClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(SyncedField.class)) {
+                own.add(field);
+            }
+        }
+        own.sort(Comparator.comparing(Field::getName));
+        ret.addAll(own);
+        return ret;
+    }
+
+    private static final class MethodHandleCodec extends FieldSyncCodec {
+        private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, PacketByteBuf.class, Object.class);
+        private static final MethodType READER_TYPE = MethodType.methodType(void.class, Object.class, PacketByteBuf.class);
+
+        private final MethodHandle[] writers;
+        private final MethodHandle[] readers;
+
+        MethodHandleCodec(List<Field> fields) throws IllegalAccessException {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.writers = new MethodHandle[fields.size()];
+            this.readers = new MethodHandle[fields.size()];
+
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                Class<?> type = field.getType();
+                field.setAccessible(true);
+                MethodHandle getter = lookup.unreflectGetter(field);
+                MethodHandle setter = lookup.unreflectSetter(field);
+                MethodHandle write = lookup.unreflect(FieldSyncSupport.getWriter(type));
+                MethodHandle read = lookup.unreflect(FieldSyncSupport.getReader(type));
+
+                if (type.isEnum()) {
+                    read = MethodHandles.insertArguments(read, 1, type);
+                }
+
+                // (buf, component) -> write(buf, component.field)
+                this.writers[i] = MethodHandles.filterArguments(write.asType(write.type().changeParameterType(1, type)), 1, getter).asType(WRITER_TYPE);
+                // (component, buf) -> component.field = read(buf)
+                this.readers[i] = MethodHandles.filterArguments(setter, 1, read.asType(read.type().changeReturnType(type))).asType(READER_TYPE);
+            }
+        }
+
+        @Override
+        public void write(Object component, PacketByteBuf buf) {
+            try {
+                for (MethodHandle writer : this.writers) {
+                    writer.invokeExact(buf, component);
+                }
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void read(Object component, PacketByteBuf buf) {
+            try {
+                for (MethodHandle reader : this.readers) {
+                    reader.invokeExact(component, buf);
+                }
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable t) {
+            if (t instanceof RuntimeException) throw (RuntimeException) t;
+            if (t instanceof Error) throw (Error) t;
+            throw new IllegalStateException(t);
+        }
+    }
+}
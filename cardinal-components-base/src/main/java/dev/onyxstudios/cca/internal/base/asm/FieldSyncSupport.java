@@ -0,0 +1,219 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runtime helpers called by the sync codecs generated in {@link CcaAsmHelper#spinFieldSyncCodec}.
+ *
+ * <p>Every supported field type has a {@code write} overload and a matching {@code readXxx} method.
+ * Reference types are prefixed with a presence flag, so that {@code null} values survive the round trip.
+ * Methods in this class are not meant to be called by anything else, and their signatures
+ * may change without notice.
+ */
+public final class FieldSyncSupport {
+    private static final Map<Class<?>, Method> WRITERS = new HashMap<>();
+    private static final Map<Class<?>, Method> READERS = new HashMap<>();
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<Object[]>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
+    static final Method WRITE_ENUM;
+    static final Method READ_ENUM;
+
+    static {
+        for (Method m : FieldSyncSupport.class.getDeclaredMethods()) {
+            if (!Modifier.isPublic(m.getModifiers())) continue;
+            Class<?>[] params = m.getParameterTypes();
+            if (m.getName().equals("write") && params.length == 2) {
+                WRITERS.put(params[1], m);
+            } else if (m.getName().startsWith("read") && params.length == 1) {
+                READERS.put(m.getReturnType(), m);
+            }
+        }
+        try {
+            WRITE_ENUM = FieldSyncSupport.class.getMethod("writeEnum", PacketByteBuf.class, Enum.class);
+            READ_ENUM = FieldSyncSupport.class.getMethod("readEnum", PacketByteBuf.class, Class.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Failed to find enum codec methods", e);
+        }
+    }
+
+    @Nullable
+    static Method getWriter(Class<?> type) {
+        return type.isEnum() ? WRITE_ENUM : WRITERS.get(type);
+    }
+
+    @Nullable
+    static Method getReader(Class<?> type) {
+        return type.isEnum() ? READ_ENUM : READERS.get(type);
+    }
+
+    public static void write(PacketByteBuf buf, boolean value) {
+        buf.writeBoolean(value);
+    }
+
+    public static boolean readBoolean(PacketByteBuf buf) {
+        return buf.readBoolean();
+    }
+
+    public static void write(PacketByteBuf buf, byte value) {
+        buf.writeByte(value);
+    }
+
+    public static byte readByte(PacketByteBuf buf) {
+        return buf.readByte();
+    }
+
+    public static void write(PacketByteBuf buf, short value) {
+        buf.writeShort(value);
+    }
+
+    public static short readShort(PacketByteBuf buf) {
+        return buf.readShort();
+    }
+
+    public static void write(PacketByteBuf buf, char value) {
+        buf.writeChar(value);
+    }
+
+    public static char readChar(PacketByteBuf buf) {
+        return buf.readChar();
+    }
+
+    public static void write(PacketByteBuf buf, int value) {
+        buf.writeVarInt(value);
+    }
+
+    public static int readInt(PacketByteBuf buf) {
+        return buf.readVarInt();
+    }
+
+    public static void write(PacketByteBuf buf, long value) {
+        buf.writeVarLong(value);
+    }
+
+    public static long readLong(PacketByteBuf buf) {
+        return buf.readVarLong();
+    }
+
+    public static void write(PacketByteBuf buf, float value) {
+        buf.writeFloat(value);
+    }
+
+    public static float readFloat(PacketByteBuf buf) {
+        return buf.readFloat();
+    }
+
+    public static void write(PacketByteBuf buf, double value) {
+        buf.writeDouble(value);
+    }
+
+    public static double readDouble(PacketByteBuf buf) {
+        return buf.readDouble();
+    }
+
+    public static void write(PacketByteBuf buf, @Nullable String value) {
+        buf.writeBoolean(value != null);
+        if (value != null) buf.writeString(value);
+    }
+
+    @Nullable
+    public static String readString(PacketByteBuf buf) {
+        return buf.readBoolean() ? buf.readString() : null;
+    }
+
+    public static void write(PacketByteBuf buf, @Nullable UUID value) {
+        buf.writeBoolean(value != null);
+        if (value != null) buf.writeUuid(value);
+    }
+
+    @Nullable
+    public static UUID readUuid(PacketByteBuf buf) {
+        return buf.readBoolean() ? buf.readUuid() : null;
+    }
+
+    public static void write(PacketByteBuf buf, @Nullable Identifier value) {
+        buf.writeBoolean(value != null);
+        if (value != null) buf.writeIdentifier(value);
+    }
+
+    @Nullable
+    public static Identifier readIdentifier(PacketByteBuf buf) {
+        return buf.readBoolean() ? buf.readIdentifier() : null;
+    }
+
+    public static void write(PacketByteBuf buf, @Nullable BlockPos value) {
+        buf.writeBoolean(value != null);
+        if (value != null) buf.writeBlockPos(value);
+    }
+
+    @Nullable
+    public static BlockPos readBlockPos(PacketByteBuf buf) {
+        return buf.readBoolean() ? buf.readBlockPos() : null;
+    }
+
+    public static void write(PacketByteBuf buf, @Nullable CompoundTag value) {
+        // PacketByteBuf already encodes null tags
+        buf.writeCompoundTag(value);
+    }
+
+    @Nullable
+    public static CompoundTag readCompoundTag(PacketByteBuf buf) {
+        return buf.readCompoundTag();
+    }
+
+    public static void write(PacketByteBuf buf, @Nullable ItemStack value) {
+        buf.writeBoolean(value != null);
+        if (value != null) buf.writeItemStack(value);
+    }
+
+    @Nullable
+    public static ItemStack readItemStack(PacketByteBuf buf) {
+        return buf.readBoolean() ? buf.readItemStack() : null;
+    }
+
+    public static void writeEnum(PacketByteBuf buf, @Nullable Enum<?> value) {
+        buf.writeVarInt(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    @Nullable
+    public static Object readEnum(PacketByteBuf buf, Class<?> enumType) {
+        int index = buf.readVarInt();
+        return index == 0 ? null : ENUM_CONSTANTS.get(enumType)[index - 1];
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.tick.ClientTickingComponent;
+import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import dev.onyxstudios.cca.internal.base.ComponentMetricsImpl;
+import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import nerdhub.cardinal.components.api.component.Component;
+import nerdhub.cardinal.components.api.component.extension.CopyableComponent;
+import nerdhub.cardinal.components.api.util.container.AbstractComponentContainer;
+import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.nbt.CompoundTag;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runtime helpers called by the component containers generated in {@link CcaAsmHelper}.
+ *
+ * <p>Methods in this class are not meant to be called by anything else, and their signatures
+ * may change without notice.
+ */
+public final class StaticContainerSupport {
+    /**
+     * Serializes a single statically declared component into the container's component map.
+     *
+     * @param tag          the tag being written by the container
+     * @param componentMap the component map previously returned by this method, or {@code null} if none has been created yet
+     * @param component    the component to serialize
+     * @param keyId        the string representation of the component key's id
+     * @return the component map, if it has been created at this point
+     */
+    @Nullable
+    public static CompoundTag writeComponent(CompoundTag tag, @Nullable CompoundTag componentMap, Component component, String keyId) {
+        CompoundTag componentTag = new CompoundTag();
+        component.toTag(componentTag);
+
+        if (!componentTag.isEmpty()) {
+            if (componentMap == null) {
+                componentMap = new CompoundTag();
+                tag.put(AbstractComponentContainer.NBT_KEY, componentMap);
+            }
+
+            componentMap.put(keyId, componentTag);
+        }
+
+        return componentMap;
+    }
+
+    /**
+     * Same as {@link #writeComponent(CompoundTag, CompoundTag, Component, String)}, recording metrics for the component.
+     */
+    @Nullable
+    public static CompoundTag writeComponentMeasured(CompoundTag tag, @Nullable CompoundTag componentMap, Component component, String keyId, ComponentKey<?> key) {
+        long start = System.nanoTime();
+        CompoundTag componentTag = new CompoundTag();
+        component.toTag(componentTag);
+        ComponentMetricsImpl.recordSerialization(key, System.nanoTime() - start, componentTag);
+
+        if (!componentTag.isEmpty()) {
+            if (componentMap == null) {
+                componentMap = new CompoundTag();
+                tag.put(AbstractComponentContainer.NBT_KEY, componentMap);
+            }
+
+            componentMap.put(keyId, componentTag);
+        }
+
+        return componentMap;
+    }
+
+    /**
+     * @return {@code true} if the tag uses the legacy list format, which generated containers delegate to the generic implementation
+     */
+    public static boolean hasLegacyComponentList(CompoundTag tag) {
+        return tag.contains(AbstractComponentContainer.NBT_KEY, NbtType.LIST);
+    }
+
+    @Nullable
+    public static CompoundTag getComponentMap(CompoundTag tag) {
+        return tag.contains(AbstractComponentContainer.NBT_KEY, NbtType.COMPOUND) ? tag.getCompound(AbstractComponentContainer.NBT_KEY) : null;
+    }
+
+    public static void readComponent(CompoundTag componentMap, Component component, String keyId) {
+        if (componentMap.contains(keyId, NbtType.COMPOUND)) {
+            component.fromTag(componentMap.getCompound(keyId));
+            componentMap.remove(keyId);
+        }
+    }
+
+    /**
+     * Same as {@link #readComponent(CompoundTag, Component, String)}, recording metrics for the component.
+     */
+    public static void readComponentMeasured(CompoundTag componentMap, Component component, String keyId, ComponentKey<?> key) {
+        if (componentMap.contains(keyId, NbtType.COMPOUND)) {
+            long start = System.nanoTime();
+            component.fromTag(componentMap.getCompound(keyId));
+            ComponentMetricsImpl.recordDeserialization(key, System.nanoTime() - start);
+            componentMap.remove(keyId);
+        }
+    }
+
+    public static void warnUnknownComponents(CompoundTag componentMap) {
+        if (!componentMap.isEmpty()) {
+            for (String missedKeyId : componentMap.getKeys()) {
+                ComponentsInternals.LOGGER.warn("Failed to deserialize component: unregistered key " + missedKeyId);
+            }
+        }
+    }
+
+    /**
+     * Copies the data of a component which declared class does not implement {@link CopyableComponent}.
+     *
+     * <p>The implementation may still be copyable, in which case {@link CopyableComponent#copyFrom(Component)}
+     * is called like in {@link AbstractComponentContainer#copyFrom}. Other components go through an NBT round trip.
+     */
+    public static void copyComponent(Component ours, Component theirs) {
+        if (!ours.equals(theirs)) {
+            if (ours instanceof CopyableComponent) {
+                @SuppressWarnings("unchecked") CopyableComponent<Component> copyable = (CopyableComponent<Component>) ours;
+                copyable.copyFrom(theirs);
+            } else {
+                ours.fromTag(theirs.toTag(new CompoundTag()));
+            }
+        }
+    }
+
+    public static void serverTickMeasured(ServerTickingComponent component, ComponentKey<?> key) {
+        long start = System.nanoTime();
+        component.serverTick();
+        ComponentMetricsImpl.recordTick(key, System.nanoTime() - start);
+    }
+
+    public static void clientTickMeasured(ClientTickingComponent component, ComponentKey<?> key) {
+        long start = System.nanoTime();
+        component.clientTick();
+        ComponentMetricsImpl.recordTick(key, System.nanoTime() - start);
+    }
+}
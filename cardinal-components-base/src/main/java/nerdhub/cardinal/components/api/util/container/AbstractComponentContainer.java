@@ -25,6 +25,7 @@ package nerdhub.cardinal.components.api.util.container;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.tick.ClientTickingComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import dev.onyxstudios.cca.internal.base.ComponentMetricsImpl;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
@@ -72,7 +73,13 @@ public abstract class AbstractComponentContainer<C extends Component> extends Ab
         for (ComponentKey<?> key : this.keys()) {
             Component c = key.getFromContainer(this);
             if (c instanceof ServerTickingComponent) {
-                ((ServerTickingComponent) c).serverTick();
+                if (ComponentMetricsImpl.ENABLED) {
+                    long start = System.nanoTime();
+                    ((ServerTickingComponent) c).serverTick();
+                    ComponentMetricsImpl.recordTick(key, System.nanoTime() - start);
+                } else {
+                    ((ServerTickingComponent) c).serverTick();
+                }
             }
         }
     }
@@ -82,7 +89,13 @@ public abstract class AbstractComponentContainer<C extends Component> extends Ab
         for (ComponentKey<?> key : this.keys()) {
             Component c = key.getFromContainer(this);
             if (c instanceof ClientTickingComponent) {
-                ((ClientTickingComponent) c).clientTick();
+                if (ComponentMetricsImpl.ENABLED) {
+                    long start = System.nanoTime();
+                    ((ClientTickingComponent) c).clientTick();
+                    ComponentMetricsImpl.recordTick(key, System.nanoTime() - start);
+                } else {
+                    ((ClientTickingComponent) c).clientTick();
+                }
             }
         }
     }
@@ -177,7 +190,11 @@ public abstract class AbstractComponentContainer<C extends Component> extends Ab
                 if (componentMap.contains(keyId, NbtType.COMPOUND)) {
                     Component component = key.getInternal(this);
                     assert component != null;
+                    long start = ComponentMetricsImpl.ENABLED ? System.nanoTime() : 0L;
                     component.fromTag(componentMap.getCompound(keyId));
+                    if (ComponentMetricsImpl.ENABLED) {
+                        ComponentMetricsImpl.recordDeserialization(key, System.nanoTime() - start);
+                    }
                     componentMap.remove(keyId);
                 }
             }
@@ -206,7 +223,11 @@ public abstract class AbstractComponentContainer<C extends Component> extends Ab
 
             for (ComponentKey<?> type : this.keySet()) {
                 Component component = type.getFromContainer(this);
+                long start = ComponentMetricsImpl.ENABLED ? System.nanoTime() : 0L;
                 component.toTag(componentTag);
+                if (ComponentMetricsImpl.ENABLED) {
+                    ComponentMetricsImpl.recordSerialization(type, System.nanoTime() - start, componentTag);
+                }
 
                 if (!componentTag.isEmpty()) {
                     if (componentMap == null) {
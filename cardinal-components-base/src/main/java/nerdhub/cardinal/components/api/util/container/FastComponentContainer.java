@@ -31,7 +31,6 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.objects.ObjectBidirectionalIterator;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
-import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.Component;
 import org.jetbrains.annotations.ApiStatus;
@@ -54,8 +53,13 @@ import java.util.*;
 @Deprecated
 @ApiStatus.ScheduledForRemoval(inVersion = "3.0.0")
 public class FastComponentContainer<C extends Component> extends AbstractComponentContainer<C> {
-    private final BitSet containedTypes;
-    private final Int2ObjectLinkedOpenHashMap<C> vals;
+    private final int expectedDynamicSize;
+    /**
+     * Storage for dynamically added components, allocated on the first call to {@link #put(ComponentType, Component)}.
+     * Statically declared components live in fields of generated subclasses and never touch this map.
+     */
+    @Nullable
+    private Int2ObjectLinkedOpenHashMap<C> vals;
 
     public FastComponentContainer() {
         this(Hash.DEFAULT_INITIAL_SIZE);
@@ -65,13 +69,7 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
      * @param expected the expected number of <em>dynamically added</em> elements in the container
      */
     public FastComponentContainer(int expected) {
-        this.containedTypes = new BitSet(((ComponentRegistryImpl) ComponentRegistry.INSTANCE).size());
-        this.vals = new Int2ObjectLinkedOpenHashMap<>(expected, Hash.VERY_FAST_LOAD_FACTOR);
-    }
-
-    @SuppressWarnings("unused") // called by generated subclasses
-    protected void addContainedType(ComponentType<?> type) {
-        this.containedTypes.set(type.getRawId());
+        this.expectedDynamicSize = expected;
     }
 
     /**
@@ -79,19 +77,21 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
      *
      * @return the number of components in this container
      */
-    @Override
+    @Override   // overridden by generated subclasses
     public int size() {
-        return this.containedTypes.cardinality();
+        return this.dynamicSize();
     }
 
     @SuppressWarnings("unused") // called by generated factories to adjust the initial size of future containers
     public final int dynamicSize() {
-        return this.vals.size();
+        Int2ObjectLinkedOpenHashMap<C> vals = this.vals;
+        return vals == null ? 0 : vals.size();
     }
 
-    @Override
+    @Override   // overridden by generated subclasses
     public boolean containsKey(ComponentType<?> key) {
-        return this.containedTypes.get(key.getRawId());
+        Int2ObjectLinkedOpenHashMap<C> vals = this.vals;
+        return vals != null && vals.containsKey(key.getRawId());
     }
 
     /**
@@ -101,7 +101,8 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
     @Override   // overridden by generated subclasses
     @SuppressWarnings("unchecked")
     public <T extends Component> T get(ComponentType<T> key) {
-        return (T) this.vals.get(key.getRawId());
+        Int2ObjectLinkedOpenHashMap<C> vals = this.vals;
+        return vals == null ? null : (T) vals.get(key.getRawId());
     }
 
     /**
@@ -114,10 +115,13 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
         Preconditions.checkNotNull(value);
         Preconditions.checkArgument(key.getComponentClass().isInstance(value), value + " is not of type " + key);
         Preconditions.checkState(this.canBeAssigned(key), "Component type " + key + " was already defined with value " + this.get(key) + ", cannot replace with " + value);
-        this.containedTypes.set(key.getRawId());
+        Int2ObjectLinkedOpenHashMap<C> vals = this.vals;
+        if (vals == null) {
+            vals = this.vals = new Int2ObjectLinkedOpenHashMap<>(this.expectedDynamicSize, Hash.VERY_FAST_LOAD_FACTOR);
+        }
         // Invalidate the key set in case it was assigned to the static keys
-        if (this.vals.isEmpty()) this.keySet = null;
-        return this.vals.put(key.getRawId(), value);
+        if (vals.isEmpty()) this.keySet = null;
+        return vals.put(key.getRawId(), value);
     }
 
     // overridden by generated subclasses
@@ -125,6 +129,11 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
         return !this.containsKey(key);
     }
 
+    private boolean hasDynamicComponents() {
+        Int2ObjectLinkedOpenHashMap<C> vals = this.vals;
+        return vals != null && !vals.isEmpty();
+    }
+
     // Views
 
     /**
@@ -150,7 +159,7 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
         if (ks != null) {
             return ks;
         }
-        return this.keySet = this.vals.isEmpty() ? this.staticKeySet() : new KeySet();
+        return this.keySet = this.hasDynamicComponents() ? new KeySet() : this.staticKeySet();
     }
 
     // Overridden by generated subclasses
@@ -254,7 +263,11 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
         @Override
         public Iterator<C> iterator() {
             @SuppressWarnings("unchecked") Iterator<C> i1 = (Iterator<C>) Iterators.<ComponentType<?>, Component>transform(FastComponentContainer.this.staticKeySet().iterator(), FastComponentContainer.this::get);
-            ObjectIterator<C> i2 = FastComponentContainer.this.vals.values().iterator();
+            Int2ObjectLinkedOpenHashMap<C> vals = FastComponentContainer.this.vals;
+            if (vals == null) {
+                return i1;
+            }
+            ObjectIterator<C> i2 = vals.values().iterator();
             return Iterators.concat(i1, i2);
         }
 
@@ -275,7 +288,7 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
     }
 
     private final class KeyIterator implements Iterator<ComponentType<?>> {
-        private final IntIterator wrapped = FastComponentContainer.this.vals.keySet().iterator();
+        private final IntIterator wrapped = Objects.requireNonNull(FastComponentContainer.this.vals, "key set created without dynamic components").keySet().iterator();
 
         @Override
         public boolean hasNext() {
@@ -290,11 +303,12 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
 
     private final class EntryIterator implements Iterator<Entry<ComponentType<?>, C>> {
         private final Iterator<ComponentType<?>> staticWrapped = FastComponentContainer.this.staticKeySet().iterator();
-        private final ObjectBidirectionalIterator<Int2ObjectMap.Entry<C>> dynamicWrapped = FastComponentContainer.this.vals.int2ObjectEntrySet().fastIterator();
+        @Nullable
+        private final ObjectBidirectionalIterator<Int2ObjectMap.Entry<C>> dynamicWrapped = FastComponentContainer.this.vals == null ? null : FastComponentContainer.this.vals.int2ObjectEntrySet().fastIterator();
 
         @Override
         public boolean hasNext() {
-            return this.staticWrapped.hasNext() || this.dynamicWrapped.hasNext();
+            return this.staticWrapped.hasNext() || (this.dynamicWrapped != null && this.dynamicWrapped.hasNext());
         }
 
         @Override
@@ -302,7 +316,7 @@ public class FastComponentContainer<C extends Component> extends AbstractCompone
             if (this.staticWrapped.hasNext()) {
                 @SuppressWarnings("unchecked") ComponentType<? extends C> next = (ComponentType<? extends C>) this.staticWrapped.next();
                 return new Entry(next, next.getFromContainer(FastComponentContainer.this));
-            } else if (this.dynamicWrapped.hasNext()) {
+            } else if (this.dynamicWrapped != null && this.dynamicWrapped.hasNext()) {
                 Int2ObjectMap.Entry<C> e = this.dynamicWrapped.next();
                 return new Entry(ComponentRegistryImpl.byRawId(e.getIntKey()), e.getValue());
             } else {
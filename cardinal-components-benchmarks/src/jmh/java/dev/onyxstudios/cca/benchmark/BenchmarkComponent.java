@@ -0,0 +1,93 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import dev.onyxstudios.cca.api.v3.component.CopyableComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import net.minecraft.nbt.CompoundTag;
+
+/**
+ * A small component with a typical amount of state, exercising every optional component interface.
+ */
+public class BenchmarkComponent implements CopyableComponent<BenchmarkComponent>, AutoSyncedComponent, ServerTickingComponent {
+    private int value;
+    private long ticks;
+    private String name;
+
+    public BenchmarkComponent(int value) {
+        this.value = value;
+        this.name = "component_" + value;
+    }
+
+    public int getValue() {
+        return this.value;
+    }
+
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public void readFromNbt(CompoundTag tag) {
+        this.value = tag.getInt("value");
+        this.ticks = tag.getLong("ticks");
+        this.name = tag.getString("name");
+    }
+
+    @Override
+    public void writeToNbt(CompoundTag tag) {
+        tag.putInt("value", this.value);
+        tag.putLong("ticks", this.ticks);
+        tag.putString("name", this.name);
+    }
+
+    @Override
+    public void copyFrom(BenchmarkComponent other) {
+        this.value = other.value;
+        this.ticks = other.ticks;
+        this.name = other.name;
+    }
+
+    @Override
+    public void serverTick() {
+        this.ticks++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        BenchmarkComponent that = (BenchmarkComponent) o;
+        return this.value == that.value && this.ticks == that.ticks && this.name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * this.value + Long.hashCode(this.ticks)) + this.name.hashCode();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import nerdhub.cardinal.components.api.ComponentRegistry;
+import nerdhub.cardinal.components.api.ComponentType;
+import nerdhub.cardinal.components.api.component.Component;
+import nerdhub.cardinal.components.api.util.container.FastComponentContainer;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared setup for benchmarks, registering component types and building containers
+ * through the same code paths as the game.
+ */
+public final class BenchmarkComponents {
+    public static final int MAX_COMPONENTS = 16;
+
+    private static final List<ComponentType<BenchmarkComponent>> KEYS = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < MAX_COMPONENTS; i++) {
+            KEYS.add(ComponentRegistry.INSTANCE.registerIfAbsent(new Identifier("cca-benchmarks", "component_" + i), BenchmarkComponent.class));
+        }
+    }
+
+    private BenchmarkComponents() { throw new AssertionError(); }
+
+    public static ComponentKey<BenchmarkComponent> key(int index) {
+        return KEYS.get(index);
+    }
+
+    /**
+     * @return a factory producing generated containers holding {@code count} benchmark components
+     */
+    public static ComponentContainer.Factory<BenchmarkProvider> generatedFactory(int count) {
+        ComponentContainer.Factory.Builder<BenchmarkProvider> builder = ComponentContainer.Factory.builder(BenchmarkProvider.class);
+
+        for (int i = 0; i < count; i++) {
+            int value = i;
+            builder.component(KEYS.get(i), p -> new BenchmarkComponent(value));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return a legacy container holding {@code count} benchmark components, populated the way component callbacks do
+     */
+    public static FastComponentContainer<Component> createLegacyContainer(int count) {
+        FastComponentContainer<Component> container = new FastComponentContainer<>(count);
+
+        for (int i = 0; i < count; i++) {
+            container.put(KEYS.get(i), new BenchmarkComponent(i));
+        }
+
+        return container;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how client sync packet handlers hand a received buffer over to the client thread.
+ *
+ * <ul>
+ *     <li>{@code copyHandoff}: copying the buffer before scheduling, as the handlers used to do</li>
+ *     <li>{@code retainHandoff}: retaining the received buffer and releasing it once applied</li>
+ * </ul>
+ *
+ * <p>Run with {@code -PjmhProfilers=gc} to compare the allocation per received packet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClientPacketHandoffBenchmark {
+    private BenchmarkComponent component;
+    private ByteBuf payload;
+
+    @Setup
+    public void setUp() {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        // the recipient is not used by the default implementation
+        new BenchmarkComponent(42).writeSyncPacket(buf, null);
+        this.payload = buf;
+        this.component = new BenchmarkComponent(0);
+    }
+
+    private PacketByteBuf receive() {
+        // the networking layer hands over a readable buffer, owned until the handler returns
+        this.payload.readerIndex(0);
+        return new PacketByteBuf(this.payload.retain());
+    }
+
+    @Benchmark
+    public BenchmarkComponent copyHandoff() {
+        PacketByteBuf received = this.receive();
+        try {
+            PacketByteBuf copy = new PacketByteBuf(received.copy());
+            try {
+                this.component.applySyncPacket(copy);
+            } finally {
+                copy.release();
+            }
+        } finally {
+            received.release();
+        }
+        return this.component;
+    }
+
+    @Benchmark
+    public BenchmarkComponent retainHandoff() {
+        PacketByteBuf received = this.receive();
+        try {
+            received.retain();
+            try {
+                this.component.applySyncPacket(received);
+            } finally {
+                received.release();
+            }
+        } finally {
+            received.release();
+        }
+        return this.component;
+    }
+}
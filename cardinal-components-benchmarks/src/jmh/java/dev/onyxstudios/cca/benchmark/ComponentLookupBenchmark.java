@@ -0,0 +1,84 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures component lookups through {@link ComponentKey}, on generated and legacy containers.
+ *
+ * <p>The looked up component is the last one registered, which is the worst case for legacy containers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComponentLookupBenchmark {
+    @Param({"1", "16"})
+    public int componentCount;
+
+    private ComponentKey<BenchmarkComponent> key;
+    private BenchmarkProvider generated;
+    private BenchmarkProvider legacy;
+
+    @Setup
+    public void setUp() {
+        this.key = BenchmarkComponents.key(this.componentCount - 1);
+        this.generated = new BenchmarkProvider();
+        this.generated.setComponentContainer(BenchmarkComponents.generatedFactory(this.componentCount).createContainer(this.generated));
+        this.legacy = new BenchmarkProvider().setComponentContainer(BenchmarkComponents.createLegacyContainer(this.componentCount));
+    }
+
+    @Benchmark
+    public BenchmarkComponent getGenerated() {
+        return this.key.get(this.generated);
+    }
+
+    @Benchmark
+    public BenchmarkComponent getLegacy() {
+        return this.key.get(this.legacy);
+    }
+
+    @Benchmark
+    public BenchmarkComponent getNullableGenerated() {
+        return this.key.getNullable(this.generated);
+    }
+
+    @Benchmark
+    public BenchmarkComponent getNullableLegacy() {
+        return this.key.getNullable(this.legacy);
+    }
+
+    @Benchmark
+    public Optional<BenchmarkComponent> maybeGetGenerated() {
+        return this.key.maybeGet(this.generated);
+    }
+
+    @Benchmark
+    public Optional<BenchmarkComponent> maybeGetLegacy() {
+        return this.key.maybeGet(this.legacy);
+    }
+}
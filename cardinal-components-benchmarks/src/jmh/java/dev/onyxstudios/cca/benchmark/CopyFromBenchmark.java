@@ -0,0 +1,92 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the field-to-field {@code copyFrom} of generated containers with the generic implementation.
+ *
+ * <ul>
+ *     <li>{@code generated}: both containers have the same generated class, taking the direct copy path</li>
+ *     <li>{@code generatedGeneric}: the source containers have a different generated class with the same components,
+ *     forcing the generated container to fall back to the generic implementation</li>
+ *     <li>{@code legacy}: all containers are legacy {@code FastComponentContainer}s</li>
+ * </ul>
+ *
+ * <p>Each invocation copies from two sources with different states in turn, so that components never
+ * compare equal and every copy actually has work to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CopyFromBenchmark {
+    @Param({"1", "4", "16"})
+    public int componentCount;
+
+    private ComponentContainer generatedTarget;
+    private ComponentContainer[] generatedSources;
+    private ComponentContainer[] otherGeneratedSources;
+    private ComponentContainer legacyTarget;
+    private ComponentContainer[] legacySources;
+
+    @Setup
+    public void setUp() {
+        ComponentContainer.Factory<BenchmarkProvider> factory = BenchmarkComponents.generatedFactory(this.componentCount);
+        ComponentContainer.Factory<BenchmarkProvider> otherFactory = BenchmarkComponents.generatedFactory(this.componentCount);
+        BenchmarkProvider provider = new BenchmarkProvider();
+        this.generatedTarget = factory.createContainer(provider);
+        this.generatedSources = new ComponentContainer[] {factory.createContainer(provider), factory.createContainer(provider)};
+        this.otherGeneratedSources = new ComponentContainer[] {otherFactory.createContainer(provider), otherFactory.createContainer(provider)};
+        this.legacyTarget = BenchmarkComponents.createLegacyContainer(this.componentCount);
+        this.legacySources = new ComponentContainer[] {BenchmarkComponents.createLegacyContainer(this.componentCount), BenchmarkComponents.createLegacyContainer(this.componentCount)};
+        // the second source of each pair is one tick ahead of the first
+        this.generatedSources[1].tickComponents();
+        this.otherGeneratedSources[1].tickComponents();
+        this.legacySources[1].tickComponents();
+    }
+
+    @Benchmark
+    public ComponentContainer generated() {
+        return copyFromBoth(this.generatedTarget, this.generatedSources);
+    }
+
+    @Benchmark
+    public ComponentContainer generatedGeneric() {
+        return copyFromBoth(this.generatedTarget, this.otherGeneratedSources);
+    }
+
+    @Benchmark
+    public ComponentContainer legacy() {
+        return copyFromBoth(this.legacyTarget, this.legacySources);
+    }
+
+    private static ComponentContainer copyFromBoth(ComponentContainer target, ComponentContainer[] sources) {
+        target.copyFrom(sources[0]);
+        target.copyFrom(sources[1]);
+        return target;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.internal.item.CardinalItemInternals;
+import dev.onyxstudios.cca.internal.item.InternalStackComponentProvider;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.network.PacketByteBuf;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tag written for an item stack with component data, as done when writing stacks to packets.
+ *
+ * <ul>
+ *     <li>{@code deepCopy}: copying the whole vanilla tag before attaching the component data, as the item module used to do</li>
+ *     <li>{@code shallowCopy}: sharing the vanilla entries in a new tag holding the component data</li>
+ *     <li>{@code noComponentData}: writing the vanilla tag as is, when components only store data in the stack tag</li>
+ * </ul>
+ *
+ * <p>The last two go through the same {@link CardinalItemInternals} helpers as the item module's packet mixins,
+ * with a stand-in for the stack's component data.
+ *
+ * <p>Run with {@code -PjmhProfilers=gc} to compare the bytes allocated per written stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemStackWriteBenchmark {
+    private CompoundTag vanillaTag;
+    private CompoundTag componentData;
+    private StackData frozenStack;
+    private StackData emptyStack;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setUp() {
+        this.vanillaTag = new CompoundTag();
+        CompoundTag display = new CompoundTag();
+        display.putString("Name", "{\"text\":\"Benchmark Sword\"}");
+        ListTag lore = new ListTag();
+        for (int i = 0; i < 4; i++) {
+            lore.add(StringTag.of("{\"text\":\"Lore line " + i + "\"}"));
+        }
+        display.put("Lore", lore);
+        this.vanillaTag.put("display", display);
+        ListTag enchantments = new ListTag();
+        for (int i = 0; i < 5; i++) {
+            CompoundTag enchantment = new CompoundTag();
+            enchantment.putString("id", "minecraft:enchantment_" + i);
+            enchantment.putShort("lvl", (short) 3);
+            enchantments.add(enchantment);
+        }
+        this.vanillaTag.put("Enchantments", enchantments);
+        this.vanillaTag.putInt("Damage", 12);
+
+        CompoundTag componentTag = new CompoundTag();
+        new BenchmarkComponent(42).writeToNbt(componentTag);
+        CompoundTag componentMap = new CompoundTag();
+        componentMap.put("cardinal-components-benchmarks:benchmark", componentTag);
+        this.componentData = new CompoundTag();
+        this.componentData.put("cardinal_components", componentMap);
+        this.frozenStack = new StackData(this.componentData);
+        this.emptyStack = new StackData(null);
+        this.buffer = Unpooled.buffer(1024);
+    }
+
+    private PacketByteBuf write(CompoundTag tag) {
+        this.buffer.clear();
+        PacketByteBuf buf = new PacketByteBuf(this.buffer);
+        buf.writeCompoundTag(tag);
+        return buf;
+    }
+
+    private PacketByteBuf writeStack(InternalStackComponentProvider stack) {
+        CompoundTag serializedComponents = CardinalItemInternals.getSyncedComponentData(stack);
+
+        if (serializedComponents == null) {
+            return this.write(this.vanillaTag);
+        }
+
+        return this.write(CardinalItemInternals.withChild(this.vanillaTag, CardinalItemInternals.CCA_SYNCED_COMPONENTS, serializedComponents));
+    }
+
+    @Benchmark
+    public PacketByteBuf deepCopy() {
+        CompoundTag tag = this.vanillaTag.copy();
+        tag.put(CardinalItemInternals.CCA_SYNCED_COMPONENTS, this.componentData);
+        return this.write(tag);
+    }
+
+    @Benchmark
+    public PacketByteBuf shallowCopy() {
+        return this.writeStack(this.frozenStack);
+    }
+
+    @Benchmark
+    public PacketByteBuf noComponentData() {
+        return this.writeStack(this.emptyStack);
+    }
+
+    /**
+     * Stands in for the component data of an item stack, which is either frozen or absent.
+     */
+    private static final class StackData implements InternalStackComponentProvider {
+        private final @Nullable CompoundTag serializedComponents;
+
+        StackData(@Nullable CompoundTag serializedComponents) {
+            this.serializedComponents = serializedComponents;
+        }
+
+        @Override
+        public ComponentContainer getComponentContainer() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @Nullable ComponentContainer getActualComponentContainer() {
+            return null;
+        }
+
+        @Override
+        public @Nullable CompoundTag cca_getSerializedComponentData() {
+            return this.serializedComponents;
+        }
+
+        @Override
+        public void cca_setSerializedComponentData(@Nullable CompoundTag components) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean cca_hasNoComponentData() {
+            return this.serializedComponents == null;
+        }
+    }
+}
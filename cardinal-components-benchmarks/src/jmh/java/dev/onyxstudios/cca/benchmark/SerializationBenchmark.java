@@ -0,0 +1,74 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import net.minecraft.nbt.CompoundTag;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures NBT serialization and deserialization of whole containers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+    @Param({"1", "4", "16"})
+    public int componentCount;
+
+    private ComponentContainer generated;
+    private ComponentContainer legacy;
+    private CompoundTag serialized;
+
+    @Setup
+    public void setUp() {
+        this.generated = BenchmarkComponents.generatedFactory(this.componentCount).createContainer(new BenchmarkProvider());
+        this.legacy = BenchmarkComponents.createLegacyContainer(this.componentCount);
+        this.serialized = this.generated.toTag(new CompoundTag());
+    }
+
+    @Benchmark
+    public CompoundTag toTagGenerated() {
+        return this.generated.toTag(new CompoundTag());
+    }
+
+    @Benchmark
+    public CompoundTag toTagLegacy() {
+        return this.legacy.toTag(new CompoundTag());
+    }
+
+    @Benchmark
+    public ComponentContainer fromTagGenerated() {
+        // containers consume the component map, so they need a fresh copy every time
+        this.generated.fromTag(this.serialized.copy());
+        return this.generated;
+    }
+
+    @Benchmark
+    public ComponentContainer fromTagLegacy() {
+        this.legacy.fromTag(this.serialized.copy());
+        return this.legacy;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding of sync packets through {@code AutoSyncedComponent#writeSyncPacket}.
+ *
+ * <ul>
+ *     <li>{@code defaultEncoding}: the default implementation, writing the whole component as NBT</li>
+ *     <li>{@code customEncoding}: a hand-written implementation, writing the same data directly</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SyncPacketBenchmark {
+    private BenchmarkComponent component;
+    private CustomSyncComponent customComponent;
+    private PacketByteBuf buf;
+
+    @Setup
+    public void setUp() {
+        this.component = new BenchmarkComponent(42);
+        this.customComponent = new CustomSyncComponent(42);
+        this.buf = new PacketByteBuf(Unpooled.buffer());
+    }
+
+    @Benchmark
+    public PacketByteBuf defaultEncoding() {
+        this.buf.clear();
+        // the recipient is not used by either implementation
+        this.component.writeSyncPacket(this.buf, null);
+        return this.buf;
+    }
+
+    @Benchmark
+    public PacketByteBuf customEncoding() {
+        this.buf.clear();
+        this.customComponent.writeSyncPacket(this.buf, null);
+        return this.buf;
+    }
+
+    public static final class CustomSyncComponent extends BenchmarkComponent {
+        public CustomSyncComponent(int value) {
+            super(value);
+        }
+
+        @Override
+        public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+            buf.writeVarInt(this.getValue());
+            buf.writeVarLong(this.getTicks());
+            buf.writeString(this.getName());
+        }
+    }
+}
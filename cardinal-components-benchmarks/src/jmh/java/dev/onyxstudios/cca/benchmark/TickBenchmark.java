@@ -0,0 +1,75 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.benchmark;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures server tick dispatch, as performed by the tick mixins of each module.
+ *
+ * <p>{@code generatedNoTickers} measures a provider which container holds no ticking component,
+ * which is skipped entirely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TickBenchmark {
+    @Param({"1", "4", "16"})
+    public int componentCount;
+
+    private ComponentContainer generated;
+    private ComponentContainer generatedNoTickers;
+    private ComponentContainer legacy;
+
+    @Setup
+    public void setUp() {
+        this.generated = BenchmarkComponents.generatedFactory(this.componentCount).createContainer(new BenchmarkProvider());
+        this.generatedNoTickers = ComponentContainer.Factory.builder(BenchmarkProvider.class).build().createContainer(new BenchmarkProvider());
+        this.legacy = BenchmarkComponents.createLegacyContainer(this.componentCount);
+    }
+
+    @Benchmark
+    public ComponentContainer generated() {
+        return tick(this.generated);
+    }
+
+    @Benchmark
+    public ComponentContainer generatedNoTickers() {
+        return tick(this.generatedNoTickers);
+    }
+
+    @Benchmark
+    public ComponentContainer legacy() {
+        return tick(this.legacy);
+    }
+
+    private static ComponentContainer tick(ComponentContainer container) {
+        if (container.hasServerTickers()) {
+            container.tickComponents();
+        }
+        return container;
+    }
+}
@@ -24,23 +24,32 @@ package dev.onyxstudios.cca.internal;
 
 import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncAroundCallback;
 import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncCallback;
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
+import dev.onyxstudios.cca.internal.base.BundledComponentSync;
+import dev.onyxstudios.cca.internal.base.ClientSyncInbox;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.DeferredComponentSync;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
-import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.fabricmc.fabric.api.network.PacketContext;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.registry.Registry;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Iterator;
+import java.util.function.Predicate;
 
 @SuppressWarnings("unused") // entrypoint
 public class CardinalComponentsBlock {
@@ -56,46 +65,96 @@ public class CardinalComponentsBlock {
      */
     public static final Identifier PACKET_ID = new Identifier("cardinal-components", "block_entity_sync");
 
+    /**
+     * The bundle collecting the components of the block entities in the chunk currently being sent, if any
+     */
+    private static final ThreadLocal<BundledComponentSync> chunkBundle = new ThreadLocal<>();
+    private static boolean networking;
+
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
+            networking = true;
             BlockEntitySyncCallback.EVENT.register((player, tracked) -> {
-                InternalComponentProvider provider = (InternalComponentProvider) tracked;
+                BundledComponentSync bundle = chunkBundle.get();
 
-                for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-                    key.syncWith(player, provider);
+                if (bundle != null && bundle.getPlayer() == player) {
+                    bundle.add((InternalComponentProvider) tracked, key -> true);
+                } else {
+                    BundledComponentSync.syncAll(player, (InternalComponentProvider) tracked, PACKET_ID);
                 }
             });
             BlockEntitySyncAroundCallback.EVENT.register(tracked -> {
-                for (ComponentKey<?> key : ((InternalComponentProvider) tracked).getComponentContainer().keys()) {
-                    key.sync(tracked);
+                InternalComponentProvider provider = (InternalComponentProvider) tracked;
+                ComponentContainer container = provider.getComponentContainer();
+
+                if (container.keys().isEmpty()) {
+                    return;
+                }
+
+                // components with a pending sync will be sent at the end of the tick anyway,
+                // and delta-synced components keep their baseline until they sync themselves
+                Predicate<ComponentKey<?>> filter = key -> !DeferredComponentSync.isPending(provider, key)
+                    && !(key.getFromContainer(container) instanceof DeltaSyncedComponent);
+
+                for (Iterator<ServerPlayerEntity> it = provider.getRecipientsForComponentSync(); it.hasNext(); ) {
+                    BundledComponentSync bundle = new BundledComponentSync(it.next(), PACKET_ID);
+                    bundle.add(provider, filter);
+                    bundle.send();
                 }
             });
         }
     }
 
+    /**
+     * Fires {@link BlockEntitySyncCallback} for every block entity in a chunk being sent to {@code player},
+     * sending all their components in a single packet.
+     */
+    public static void syncChunk(ServerPlayerEntity player, WorldChunk chunk) {
+        if (!networking) {
+            for (BlockEntity be : chunk.getBlockEntities().values()) {
+                BlockEntitySyncCallback.EVENT.invoker().onBlockEntitySync(player, be);
+            }
+            return;
+        }
+
+        BundledComponentSync bundle = new BundledComponentSync(player, PACKET_ID);
+        chunkBundle.set(bundle);
+
+        try {
+            for (BlockEntity be : chunk.getBlockEntities().values()) {
+                BlockEntitySyncCallback.EVENT.invoker().onBlockEntitySync(player, be);
+            }
+        } finally {
+            chunkBundle.remove();
+        }
+
+        bundle.send();
+    }
+
     // Safe to put in the same class as no client-only class is directly referenced
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            ClientSidePacketRegistry.INSTANCE.register(PACKET_ID, (context, buffer) -> {
+            BundledComponentSync.registerClientHandler(PACKET_ID, (context, buffer) -> {
                 try {
                     Identifier blockEntityTypeId = buffer.readIdentifier();
                     BlockPos position = buffer.readBlockPos();
-                    Identifier componentTypeId = buffer.readIdentifier();
                     BlockEntityType<?> blockEntityType = Registry.BLOCK_ENTITY_TYPE.get(blockEntityTypeId);
-                    ComponentType<?> componentType = ComponentRegistry.INSTANCE.get(componentTypeId);
+                    ComponentType<?> componentType = ComponentKeyNetworking.readKey(buffer);
 
                     if (componentType == null || blockEntityType == null) {
                         return;
                     }
 
+                    ClientSyncInbox.Ticket ticket = ClientSyncInbox.receive(PACKET_ID, position, componentType);
                     buffer.retain();
 
                     context.getTaskQueue().execute(() -> {
                         try {
                             componentType.maybeGet(blockEntityType.get(context.getPlayer().world, position))
                                 .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(buffer));
+                                .ifPresent(c -> ticket.apply((AutoSyncedComponent) c, buffer));
                         } finally {
+                            ticket.close();
                             buffer.release();
                         }
                     });
@@ -27,40 +27,39 @@ import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import dev.onyxstudios.cca.internal.base.DynamicContainerFactory;
 import net.minecraft.block.entity.BlockEntity;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public final class CardinalBlockInternals {
-    private static final Map<Class<? extends BlockEntity>, DynamicContainerFactory<BlockEntity>> entityContainerFactories = new HashMap<>();
-    private static final Object factoryMutex = new Object();
-
-    public static ComponentContainer createComponents(BlockEntity blockEntity) {
-        Class<? extends BlockEntity> entityClass = blockEntity.getClass();
-        DynamicContainerFactory<BlockEntity> existing = entityContainerFactories.get(entityClass);
-
-        if (existing != null) {
-            return existing.create(blockEntity);
+    /**
+     * Container factories for every instantiated block entity class.
+     *
+     * <p>{@link ClassValue} gives us lock-free lookups, and guarantees that a single factory gets published
+     * for each class even if it is concurrently computed by both the client and the server thread.
+     */
+    private static final ClassValue<DynamicContainerFactory<BlockEntity>> entityContainerFactories = new ClassValue<DynamicContainerFactory<BlockEntity>>() {
+        @Override
+        protected DynamicContainerFactory<BlockEntity> computeValue(Class<?> type) {
+            return createContainerFactory(type.asSubclass(BlockEntity.class));
         }
+    };
 
-        synchronized (factoryMutex) {   // can be called from both client and server thread
-            // computeIfAbsent and not put, because the factory may have been generated while waiting
-            return entityContainerFactories.computeIfAbsent(entityClass, clazz -> {
-                Class<?> cl = clazz;
-                Class<? extends BlockEntity> parentWithStaticComponents = null;
+    public static ComponentContainer createComponents(BlockEntity blockEntity) {
+        return entityContainerFactories.get(blockEntity.getClass()).create(blockEntity);
+    }
 
-                while (BlockEntity.class.isAssignableFrom(cl)) {
-                    Class<? extends BlockEntity> c = cl.asSubclass(BlockEntity.class);
+    private static DynamicContainerFactory<BlockEntity> createContainerFactory(Class<? extends BlockEntity> entityClass) {
+        Class<?> cl = entityClass;
+        Class<? extends BlockEntity> parentWithStaticComponents = null;
 
-                    if (parentWithStaticComponents == null && StaticBlockComponentPlugin.INSTANCE.requiresStaticFactory(c)) {   // try to find a specialized ASM factory
-                        parentWithStaticComponents = c;
-                    }
-                    cl = c.getSuperclass();
-                }
-                assert parentWithStaticComponents != null;
-                Class<? extends DynamicContainerFactory<BlockEntity>> factoryClass = StaticBlockComponentPlugin.INSTANCE.spinDedicatedFactory(parentWithStaticComponents);
+        while (BlockEntity.class.isAssignableFrom(cl)) {
+            Class<? extends BlockEntity> c = cl.asSubclass(BlockEntity.class);
 
-                return ComponentsInternals.createFactory(factoryClass);
-            }).create(blockEntity);
+            if (parentWithStaticComponents == null && StaticBlockComponentPlugin.INSTANCE.requiresStaticFactory(c)) {   // try to find a specialized ASM factory
+                parentWithStaticComponents = c;
+            }
+            cl = c.getSuperclass();
         }
+        assert parentWithStaticComponents != null;
+        Class<? extends DynamicContainerFactory<BlockEntity>> factoryClass = StaticBlockComponentPlugin.INSTANCE.spinDedicatedFactory(parentWithStaticComponents);
+
+        return ComponentsInternals.createFactory(factoryClass);
     }
 }
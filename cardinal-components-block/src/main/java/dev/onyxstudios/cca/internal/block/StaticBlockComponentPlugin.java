@@ -31,6 +31,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.internal.base.DynamicContainerFactory;
 import dev.onyxstudios.cca.internal.base.LazyDispatcher;
 import dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper;
+import dev.onyxstudios.cca.internal.base.asm.ContainerWarmup;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentLoadingException;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
@@ -41,6 +42,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 public final class StaticBlockComponentPlugin extends LazyDispatcher implements BlockComponentFactoryRegistry {
@@ -59,7 +61,7 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
     private final List<PredicatedComponentFactory<?>> dynamicFactories = new ArrayList<>();
     private final Map<Class<? extends BlockEntity>, Map<ComponentKey<?>, Class<? extends Component>>> beComponentImpls = new HashMap<>();
     private final Map<Class<? extends BlockEntity>, Map<ComponentKey<?>, BlockEntityComponentFactory<?, ?>>> beComponentFactories = new Reference2ObjectOpenHashMap<>();
-    private final Map<Class<? extends BlockEntity>, Class<? extends DynamicContainerFactory<BlockEntity>>> factoryClasses = new Reference2ObjectOpenHashMap<>();
+    private final Map<Class<? extends BlockEntity>, Class<? extends DynamicContainerFactory<BlockEntity>>> factoryClasses = new ConcurrentHashMap<>();
 
     public Map<ComponentKey<?>, BlockComponentProvider<?>> getComponentFactories(Identifier blockId) {
         this.ensureInitialized();
@@ -67,54 +69,82 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
         return this.blockComponentFactories.getOrDefault(blockId, this.wildcard);
     }
 
-    public boolean requiresStaticFactory(Class<? extends BlockEntity> entityClass) {
+    // the following methods are only called once per class, as CardinalBlockInternals caches the resulting factories
+    public synchronized boolean requiresStaticFactory(Class<? extends BlockEntity> entityClass) {
         StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
         return entityClass == BlockEntity.class || this.beComponentFactories.containsKey(entityClass);
     }
 
-    public Class<? extends DynamicContainerFactory<BlockEntity>> spinDedicatedFactory(Class<? extends BlockEntity> key) {
+    public synchronized Class<? extends DynamicContainerFactory<BlockEntity>> spinDedicatedFactory(Class<? extends BlockEntity> key) {
         StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
 
         // we need a cache as this method is called for a given class each time one of its subclasses is loaded.
         return this.factoryClasses.computeIfAbsent(key, entityClass -> {
-            for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
-                dynamicFactory.tryRegister(entityClass);
-            }
-
-            Map<ComponentKey<?>, BlockEntityComponentFactory<?, ?>> compiled = new LinkedHashMap<>(this.beComponentFactories.getOrDefault(entityClass, Collections.emptyMap()));
-            Map<ComponentKey<?>, Class<? extends Component>> compiledImpls = new LinkedHashMap<>(this.beComponentImpls.getOrDefault(entityClass, Collections.emptyMap()));
-            Class<? extends BlockEntity> type = entityClass;
-
-            while (type != BlockEntity.class) {
-                type = type.getSuperclass().asSubclass(BlockEntity.class);
-                this.beComponentFactories.getOrDefault(type, Collections.emptyMap()).forEach(compiled::putIfAbsent);
-                this.beComponentImpls.getOrDefault(type, Collections.emptyMap()).forEach(compiledImpls::putIfAbsent);
-            }
-
-            String implSuffix = getSuffix(entityClass);
+            this.applyDynamicFactories(entityClass);
 
             try {
-                Class<? extends ComponentContainer> containerCls = CcaAsmHelper.spinComponentContainer(
-                    BlockEntityComponentFactory.class,
-                    compiled,
-                    compiledImpls,
-                    implSuffix
-                );
-
-                return StaticComponentPluginBase.spinContainerFactory(
-                    implSuffix,
-                    DynamicContainerFactory.class,
-                    containerCls,
-                    null,
-                    0,
-                    entityClass
-                );
+                return this.spinFactory(entityClass);
             } catch (IOException e) {
                 throw new StaticComponentLoadingException("Failed to generate a dedicated component container for " + entityClass, e);
             }
         });
     }
 
+    /**
+     * Generates the containers and factories for every block entity class with statically registered components,
+     * so that they do not need to be generated when the first block entity of a given type gets instantiated.
+     */
+    public synchronized void generateAll() {
+        this.ensureInitialized();
+
+        Set<Class<? extends BlockEntity>> targets = new LinkedHashSet<>();
+        targets.add(BlockEntity.class);
+        targets.addAll(this.beComponentFactories.keySet());
+        targets.removeIf(this.factoryClasses::containsKey);
+
+        for (Class<? extends BlockEntity> target : targets) {
+            this.applyDynamicFactories(target);
+        }
+
+        ContainerWarmup.generateAll("block entity container warm-up", targets, this::spinFactory).forEach(this.factoryClasses::putIfAbsent);
+    }
+
+    private void applyDynamicFactories(Class<? extends BlockEntity> entityClass) {
+        for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
+            dynamicFactory.tryRegister(entityClass);
+        }
+    }
+
+    private Class<? extends DynamicContainerFactory<BlockEntity>> spinFactory(Class<? extends BlockEntity> entityClass) throws IOException {
+        Map<ComponentKey<?>, BlockEntityComponentFactory<?, ?>> compiled = new LinkedHashMap<>(this.beComponentFactories.getOrDefault(entityClass, Collections.emptyMap()));
+        Map<ComponentKey<?>, Class<? extends Component>> compiledImpls = new LinkedHashMap<>(this.beComponentImpls.getOrDefault(entityClass, Collections.emptyMap()));
+        Class<? extends BlockEntity> type = entityClass;
+
+        while (type != BlockEntity.class) {
+            type = type.getSuperclass().asSubclass(BlockEntity.class);
+            this.beComponentFactories.getOrDefault(type, Collections.emptyMap()).forEach(compiled::putIfAbsent);
+            this.beComponentImpls.getOrDefault(type, Collections.emptyMap()).forEach(compiledImpls::putIfAbsent);
+        }
+
+        String implSuffix = getSuffix(entityClass);
+
+        Class<? extends ComponentContainer> containerCls = CcaAsmHelper.spinComponentContainer(
+            BlockEntityComponentFactory.class,
+            compiled,
+            compiledImpls,
+            implSuffix
+        );
+
+        return StaticComponentPluginBase.spinContainerFactory(
+            implSuffix,
+            DynamicContainerFactory.class,
+            containerCls,
+            null,
+            0,
+            entityClass
+        );
+    }
+
     public <C extends Component, E extends BlockEntity> void registerFor(Class<E> target, ComponentKey<C> type, BlockEntityComponentFactory<C, E> factory) {
         this.checkLoading(BlockComponentFactoryRegistry.class, "register");
         this.register0(target, type, factory, type.getComponentClass());
@@ -27,6 +27,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
 import dev.onyxstudios.cca.internal.CardinalComponentsBlock;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
 import dev.onyxstudios.cca.internal.block.CardinalBlockInternals;
 import net.fabricmc.fabric.api.server.PlayerStream;
@@ -66,10 +67,16 @@ public abstract class MixinBlockEntity implements InternalComponentProvider {
 
     @Unique
     private ComponentContainer components;
+    @Unique
+    private boolean serverTicking;
+    @Unique
+    private boolean clientTicking;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void init(BlockEntityType<?> type, CallbackInfo ci) {
         this.components = CardinalBlockInternals.createComponents((BlockEntity) (Object) this);
+        this.serverTicking = this.components.hasServerTickers();
+        this.clientTicking = this.components.hasClientTickers();
     }
 
     @Inject(method = "toTag", at = @At("RETURN"))
@@ -88,6 +95,16 @@ public abstract class MixinBlockEntity implements InternalComponentProvider {
         return this.components;
     }
 
+    @Override
+    public boolean hasServerTickingComponents() {
+        return this.serverTicking;
+    }
+
+    @Override
+    public boolean hasClientTickingComponents() {
+        return this.clientTicking;
+    }
+
     @Override
     public Iterator<ServerPlayerEntity> getRecipientsForComponentSync() {
         World world = this.getWorld();
@@ -103,7 +120,7 @@ public abstract class MixinBlockEntity implements InternalComponentProvider {
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(PacketByteBuf buf, ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         buf.writeIdentifier(BlockEntityType.getId(this.getType()));
         buf.writeBlockPos(this.getPos());
-        buf.writeIdentifier(key.getId());
+        ComponentKeyNetworking.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(CardinalComponentsBlock.PACKET_ID, buf);
     }
@@ -31,7 +31,10 @@ import org.spongepowered.asm.mixin.Mixin;
 public class MixinClientWorld extends MixinWorld {
     @Override   // turns out you can override injections, which lets us call a different method
     protected BlockEntity tick(BlockEntity be) {
-        ((InternalComponentProvider) be).getComponentContainer().tickClientComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) be;
+        if (provider.hasClientTickingComponents()) {
+            provider.getComponentContainer().tickClientComponents();
+        }
         return be;
     }
 }
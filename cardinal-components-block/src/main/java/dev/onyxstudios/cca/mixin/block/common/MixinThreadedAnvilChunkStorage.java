@@ -22,8 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.block.common;
 
-import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncCallback;
-import net.minecraft.block.entity.BlockEntity;
+import dev.onyxstudios.cca.internal.CardinalComponentsBlock;
 import net.minecraft.network.Packet;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ThreadedAnvilChunkStorage;
@@ -37,8 +36,6 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinThreadedAnvilChunkStorage {
     @Inject(method = "sendChunkDataPackets", at = @At("RETURN"))
     private void sendChunkDataPackets(ServerPlayerEntity player, Packet<?>[] packets, WorldChunk chunk, CallbackInfo ci) {
-        for (BlockEntity be : chunk.getBlockEntities().values()) {
-            BlockEntitySyncCallback.EVENT.invoker().onBlockEntitySync(player, be);
-        }
+        CardinalComponentsBlock.syncChunk(player, chunk);
     }
 }
@@ -34,7 +34,10 @@ public abstract class MixinWorld {
     // ModifyVariable to easily catch the local variable we want
     @ModifyVariable(method = "tickBlockEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/util/Tickable;tick()V", shift = At.Shift.AFTER), ordinal = 0)
     protected BlockEntity tick(BlockEntity be) {
-        ((InternalComponentProvider) be).getComponentContainer().tickComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) be;
+        if (provider.hasServerTickingComponents()) {
+            provider.getComponentContainer().tickComponents();
+        }
         return be;
     }
 }
@@ -22,60 +22,62 @@
  */
 package dev.onyxstudios.cca.internal.chunk;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.BundledComponentSync;
+import dev.onyxstudios.cca.internal.base.ClientSyncInbox;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
-import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
 import nerdhub.cardinal.components.api.event.ChunkSyncCallback;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
 
 public final class ComponentsChunkNetworking {
     public static final Identifier PACKET_ID = new Identifier("cardinal-components", "chunk_sync");
+    /**
+     * If {@code true}, chunk components are synchronized again every time block updates get sent for their chunk,
+     * like in previous versions. Otherwise, they only get synchronized when the chunk is sent to a player,
+     * and when explicitly requested through {@link dev.onyxstudios.cca.api.v3.component.ComponentKey#sync(Object)}.
+     */
+    public static final boolean SYNC_ON_BLOCK_UPDATES = Boolean.getBoolean("cca.chunk.syncOnBlockUpdates");
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            ChunkSyncCallback.EVENT.register((player, tracked) -> {
-                InternalComponentProvider provider = (InternalComponentProvider) tracked;
-
-                for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-                    key.syncWith(player, provider);
-                }
-            });
+            ChunkSyncCallback.EVENT.register((player, tracked) -> BundledComponentSync.syncAll(player, (InternalComponentProvider) tracked, PACKET_ID));
         }
     }
 
     // Safe to put in the same class as no client-only class is directly referenced
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            ClientSidePacketRegistry.INSTANCE.register(PACKET_ID, (context, buffer) -> {
+            BundledComponentSync.registerClientHandler(PACKET_ID, (context, buffer) -> {
                 try {
                     int chunkX = buffer.readInt();
                     int chunkZ = buffer.readInt();
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentType<?> componentType = ComponentRegistry.INSTANCE.get(componentTypeId);
+                    ComponentType<?> componentType = ComponentKeyNetworking.readKey(buffer);
                     if (componentType == null) {
                         return;
                     }
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
+                    ClientSyncInbox.Ticket ticket = ClientSyncInbox.receive(PACKET_ID, ChunkPos.toLong(chunkX, chunkZ), componentType);
+                    buffer.retain();
+
                     context.getTaskQueue().execute(() -> {
                         try {
                             // Note: on the client, unloaded chunks return EmptyChunk
                             componentType.maybeGet(context.getPlayer().world.getChunk(chunkX, chunkZ))
                                 .ifPresent(c -> {
                                     if (c instanceof AutoSyncedComponent) {
-                                        ((AutoSyncedComponent) c).applySyncPacket(copy);
+                                        ticket.apply((AutoSyncedComponent) c, buffer);
                                     } else if (c instanceof SyncedComponent) {
-                                        ((SyncedComponent) c).processPacket(context, copy);
+                                        ((SyncedComponent) c).processPacket(context, buffer);
                                     }
                                 });
                         } finally {
-                            copy.release();
+                            ticket.close();
+                            buffer.release();
                         }
                     });
                 } catch (Exception e) {
@@ -22,6 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.chunk.common;
 
+import dev.onyxstudios.cca.internal.chunk.ComponentsChunkNetworking;
 import nerdhub.cardinal.components.api.event.ChunkSyncCallback;
 import net.fabricmc.fabric.api.server.PlayerStream;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -36,7 +37,9 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 @Mixin(ChunkHolder.class)
 public abstract class MixinChunkHolder {
     /**
-     * Synchronizes components whenever a {@link net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket} is sent
+     * Synchronizes components whenever block updates are sent for a chunk, if the compatibility option is set
+     *
+     * @see ComponentsChunkNetworking#SYNC_ON_BLOCK_UPDATES
      */
     @Inject(
             method = "flushUpdates",
@@ -49,7 +52,9 @@ public abstract class MixinChunkHolder {
             )
     )
     private void onPlayerLogIn(WorldChunk chunk, CallbackInfo ci) {
-        PlayerStream.watching(chunk.getWorld(), chunk.getPos()).forEach(p ->
-            ChunkSyncCallback.EVENT.invoker().onChunkSync((ServerPlayerEntity) p, chunk));
+        if (ComponentsChunkNetworking.SYNC_ON_BLOCK_UPDATES) {
+            PlayerStream.watching(chunk.getWorld(), chunk.getPos()).forEach(p ->
+                ChunkSyncCallback.EVENT.invoker().onChunkSync((ServerPlayerEntity) p, chunk));
+        }
     }
 }
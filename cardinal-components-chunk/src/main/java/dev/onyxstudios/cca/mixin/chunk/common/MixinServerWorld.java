@@ -34,6 +34,9 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinServerWorld {
     @Inject(method = "tickChunk", at = @At("RETURN"))
     private void tick(WorldChunk chunk, int randomTickSpeed, CallbackInfo ci) {
-        ((InternalComponentProvider) chunk).getComponentContainer().tickComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) chunk;
+        if (provider.hasServerTickingComponents()) {
+            provider.getComponentContainer().tickComponents();
+        }
     }
 }
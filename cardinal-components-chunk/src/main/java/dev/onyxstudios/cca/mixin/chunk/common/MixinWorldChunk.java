@@ -27,6 +27,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import dev.onyxstudios.cca.internal.base.DynamicContainerFactory;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
@@ -92,7 +93,7 @@ public abstract class MixinWorldChunk implements Chunk, InternalComponentProvide
         ChunkPos pos = this.getPos();
         buf.writeInt(pos.x);
         buf.writeInt(pos.z);
-        buf.writeIdentifier(key.getId());
+        ComponentKeyNetworking.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(ComponentsChunkNetworking.PACKET_ID, buf);
     }
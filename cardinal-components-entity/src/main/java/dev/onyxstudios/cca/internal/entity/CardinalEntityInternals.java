@@ -45,10 +45,30 @@ public final class CardinalEntityInternals {
 
     private CardinalEntityInternals() { throw new AssertionError(); }
 
-    private static final Map<Class<? extends Entity>, Event<?>> ENTITY_EVENTS = Collections.synchronizedMap(new HashMap<>());
-    private static final Map<Class<? extends Entity>, DynamicContainerFactory<Entity>> entityContainerFactories = new HashMap<>();
+    private static final ClassValue<Event<?>> ENTITY_EVENTS = new ClassValue<Event<?>>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected Event<?> computeValue(Class<?> type) {
+            return EventFactory.createArrayBacked(EntityComponentCallback.class, callbacks -> (EntityComponentCallback<Entity>) (entity, components) -> {
+                for (EntityComponentCallback<Entity> callback : callbacks) {
+                    callback.initComponents(entity, components);
+                }
+            });
+        }
+    };
+    /**
+     * Container factories for every instantiated entity class.
+     *
+     * <p>{@link ClassValue} gives us lock-free lookups, and guarantees that a single factory gets published
+     * for each class even if it is concurrently computed by both the client and the server thread.
+     */
+    private static final ClassValue<DynamicContainerFactory<Entity>> entityContainerFactories = new ClassValue<DynamicContainerFactory<Entity>>() {
+        @Override
+        protected DynamicContainerFactory<Entity> computeValue(Class<?> type) {
+            return createContainerFactory(type.asSubclass(Entity.class));
+        }
+    };
     private static final Map<ComponentKey<?>, RespawnCopyStrategy<?>> RESPAWN_COPY_STRATEGIES = new HashMap<>();
-    private static final Object factoryMutex = new Object();
 
     @SuppressWarnings("unchecked")
     public static <T extends Entity> Event<EntityComponentCallback<T>> event(Class<T> clazz) {
@@ -58,13 +78,7 @@ public final class CardinalEntityInternals {
         // You who sees this code, turn back before it is too late. For no one must witness the horror sealed within.
         // DO NOT REMOVE THIS CAST (https://gist.github.com/Pyrofab/10892e2256ed181855b0809670cfdbbb)
         //noinspection RedundantCast
-        return (Event<EntityComponentCallback<T>>) ENTITY_EVENTS.computeIfAbsent(clazz, c ->
-                EventFactory.createArrayBacked(EntityComponentCallback.class, callbacks -> (EntityComponentCallback<Entity>) (entity, components) -> {
-                    for (EntityComponentCallback<Entity> callback : callbacks) {
-                        callback.initComponents(entity, components);
-                    }
-                })
-        );
+        return (Event<EntityComponentCallback<T>>) ENTITY_EVENTS.get(clazz);
     }
 
     /**
@@ -72,35 +86,27 @@ public final class CardinalEntityInternals {
      * The container factory will populate the container by invoking events for that class
      * and every superclass, in order from least specific (Entity) to most specific ({@code clazz}).
      */
-    @SuppressWarnings("unchecked")
     public static ComponentContainer createEntityComponentContainer(Entity entity) {
-        Class<? extends Entity> entityClass = entity.getClass();
-        DynamicContainerFactory<Entity> existing = entityContainerFactories.get(entityClass);
+        return entityContainerFactories.get(entity.getClass()).create(entity);
+    }
 
-        if (existing != null) {
-            return existing.create(entity);
+    @SuppressWarnings("unchecked")
+    private static DynamicContainerFactory<Entity> createContainerFactory(Class<? extends Entity> entityClass) {
+        List<Event<?>> events = new ArrayList<>();
+        Class<? extends Entity> c = entityClass;
+        Class<? extends Entity> parentWithStaticComponents = null;
+
+        while (Entity.class.isAssignableFrom(c)) {
+            events.add(EntityComponentCallback.event(c));
+            if (parentWithStaticComponents == null && StaticEntityComponentPlugin.INSTANCE.requiresStaticFactory(c)) {   // try to find a specialized ASM factory
+                parentWithStaticComponents = c;
+            }
+            c = (Class<? extends Entity>) c.getSuperclass();
         }
+        assert parentWithStaticComponents != null;
+        Class<? extends DynamicContainerFactory<Entity>> factoryClass = (Class<? extends DynamicContainerFactory<Entity>>) StaticEntityComponentPlugin.INSTANCE.spinDedicatedFactory(new StaticEntityComponentPlugin.Key(events.size(), parentWithStaticComponents));
 
-        synchronized (factoryMutex) {   // can be called from both client and server thread, see #
-            // computeIfAbsent and not put, because the factory may have been generated while waiting
-            return entityContainerFactories.computeIfAbsent(entityClass, cl -> {
-                List<Event<?>> events = new ArrayList<>();
-                Class<? extends Entity> c = cl;
-                Class<? extends Entity> parentWithStaticComponents = null;
-
-                while (Entity.class.isAssignableFrom(c)) {
-                    events.add(EntityComponentCallback.event(c));
-                    if (parentWithStaticComponents == null && StaticEntityComponentPlugin.INSTANCE.requiresStaticFactory(c)) {   // try to find a specialized ASM factory
-                        parentWithStaticComponents = c;
-                    }
-                    c = (Class<? extends Entity>) c.getSuperclass();
-                }
-                assert parentWithStaticComponents != null;
-                Class<? extends DynamicContainerFactory<Entity>> factoryClass = (Class<? extends DynamicContainerFactory<Entity>>) StaticEntityComponentPlugin.INSTANCE.spinDedicatedFactory(new StaticEntityComponentPlugin.Key(events.size(), parentWithStaticComponents));
-
-                return ComponentsInternals.createFactory(factoryClass, Lists.reverse(events).toArray(new Event[0]));
-            }).create(entity);
-        }
+        return ComponentsInternals.createFactory(factoryClass, Lists.reverse(events).toArray(new Event[0]));
     }
 
     public static <C extends Component> void registerRespawnCopyStrat(ComponentKey<? super C> type, RespawnCopyStrategy<? super C> strategy) {
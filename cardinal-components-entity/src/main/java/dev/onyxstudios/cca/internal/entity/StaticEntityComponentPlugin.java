@@ -31,6 +31,7 @@ import dev.onyxstudios.cca.api.v3.entity.PlayerComponent;
 import dev.onyxstudios.cca.internal.base.DynamicContainerFactory;
 import dev.onyxstudios.cca.internal.base.LazyDispatcher;
 import dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper;
+import dev.onyxstudios.cca.internal.base.asm.ContainerWarmup;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentLoadingException;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
 import nerdhub.cardinal.components.api.component.Component;
@@ -41,6 +42,7 @@ import net.minecraft.entity.player.PlayerEntity;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 public final class StaticEntityComponentPlugin extends LazyDispatcher implements EntityComponentFactoryRegistry {
@@ -58,26 +60,79 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
     private final List<PredicatedComponentFactory<?>> dynamicFactories = new ArrayList<>();
     private final Map<Class<? extends Entity>, Map<ComponentKey<?>, Class<? extends Component>>> componentImpls = new HashMap<>();
     private final Map<Class<? extends Entity>, Map<ComponentKey<?>, EntityComponentFactory<?, ?>>> componentFactories = new HashMap<>();
-    private final Map<Class<? extends Entity>, Class<? extends ComponentContainer>> containerClasses = new HashMap<>();
-    private final Map<Key, Class<? extends DynamicContainerFactory<?>>> factoryClasses = new HashMap<>();
+    private final Set<Class<? extends Entity>> testedClasses = new HashSet<>();
+    private final Map<Class<? extends Entity>, Class<? extends ComponentContainer>> containerClasses = new ConcurrentHashMap<>();
+    private final Map<Key, Class<? extends DynamicContainerFactory<?>>> factoryClasses = new ConcurrentHashMap<>();
 
-    public boolean requiresStaticFactory(Class<? extends Entity> entityClass) {
+    // the following methods are only called once per class, as CardinalEntityInternals caches the resulting factories
+    public synchronized boolean requiresStaticFactory(Class<? extends Entity> entityClass) {
         this.ensureInitialized();
 
-        for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
-            dynamicFactory.tryRegister(entityClass);
+        // predicates must only be applied once per class, the same class can be queried for several subclasses
+        if (this.testedClasses.add(entityClass)) {
+            for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
+                dynamicFactory.tryRegister(entityClass);
+            }
         }
 
         return entityClass == Entity.class || this.componentFactories.containsKey(entityClass);
     }
 
-    public Class<? extends DynamicContainerFactory<?>> spinDedicatedFactory(Key key) {
+    /**
+     * Generates the containers and factories for every entity class with statically registered components,
+     * so that they do not need to be generated when the first entity of a given type gets instantiated.
+     *
+     * <p>Factories are generated for entities of the exact registered class. Entities of an unregistered
+     * subclass reuse the pre-generated container, but still need a small factory class for their own event count.
+     */
+    public synchronized void generateAll() {
+        this.ensureInitialized();
+
+        Set<Class<? extends Entity>> targets = new LinkedHashSet<>();
+        targets.add(Entity.class);
+        targets.addAll(this.componentFactories.keySet());
+        List<Key> keys = new ArrayList<>();
+
+        for (Class<? extends Entity> target : targets) {
+            this.requiresStaticFactory(target);
+            Key key = new Key(countEvents(target), target);
+
+            if (!this.factoryClasses.containsKey(key)) {
+                keys.add(key);
+            }
+        }
+
+        ContainerWarmup.generateAll("entity container warm-up", keys, this::spinFactory).forEach(this.factoryClasses::putIfAbsent);
+    }
+
+    private static int countEvents(Class<?> entityClass) {
+        int count = 0;
+
+        for (Class<?> c = entityClass; Entity.class.isAssignableFrom(c); c = c.getSuperclass()) {
+            count++;
+        }
+
+        return count;
+    }
+
+    public synchronized Class<? extends DynamicContainerFactory<?>> spinDedicatedFactory(Key key) {
         this.ensureInitialized();
 
         // we need a cache as this method is called for a given class each time one of its subclasses is loaded.
         return this.factoryClasses.computeIfAbsent(key, k -> {
-            Class<? extends Entity> entityClass = k.entityClass;
+            try {
+                return this.spinFactory(k);
+            } catch (IOException e) {
+                throw new StaticComponentLoadingException("Failed to generate a dedicated component container for " + k.entityClass, e);
+            }
+        });
+    }
 
+    private Class<? extends DynamicContainerFactory<?>> spinFactory(Key k) throws IOException {
+        Class<? extends Entity> entityClass = k.entityClass;
+        Class<? extends ComponentContainer> containerCls = this.containerClasses.get(entityClass);
+
+        if (containerCls == null) {
             Map<ComponentKey<?>, EntityComponentFactory<?, ?>> compiled = new LinkedHashMap<>(this.componentFactories.getOrDefault(entityClass, Collections.emptyMap()));
             Map<ComponentKey<?>, Class<? extends Component>> compiledImpls = new LinkedHashMap<>(this.componentImpls.getOrDefault(entityClass, Collections.emptyMap()));
             Class<?> type = entityClass;
@@ -88,19 +143,11 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
                 this.componentImpls.getOrDefault(type, Collections.emptyMap()).forEach(compiledImpls::putIfAbsent);
             }
 
-            String implSuffix = getSuffix(entityClass);
+            containerCls = CcaAsmHelper.spinComponentContainer(EntityComponentFactory.class, compiled, compiledImpls, getSuffix(entityClass));
+            this.containerClasses.put(entityClass, containerCls);
+        }
 
-            try {
-                Class<? extends ComponentContainer> containerCls = this.containerClasses.get(entityClass);
-                if (containerCls == null) {
-                    containerCls = CcaAsmHelper.spinComponentContainer(EntityComponentFactory.class, compiled, compiledImpls, implSuffix);
-                    this.containerClasses.put(entityClass, containerCls);
-                }
-                return StaticComponentPluginBase.spinContainerFactory(implSuffix + "_" + k.eventCount, DynamicContainerFactory.class, containerCls, EntityComponentCallback.class, k.eventCount, entityClass);
-            } catch (IOException e) {
-                throw new StaticComponentLoadingException("Failed to generate a dedicated component container for " + entityClass, e);
-            }
-        });
+        return StaticComponentPluginBase.spinContainerFactory(getSuffix(entityClass) + "_" + k.eventCount, DynamicContainerFactory.class, containerCls, EntityComponentCallback.class, k.eventCount, entityClass);
     }
 
     @Override
@@ -35,11 +35,17 @@ public abstract class MixinClientWorld {
 
     @Inject(method = "tickEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tick()V", shift = At.Shift.AFTER))
     private void tick(Entity entity, CallbackInfo ci) {
-        ((InternalComponentProvider) entity).getComponentContainer().tickClientComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) entity;
+        if (provider.hasClientTickingComponents()) {
+            provider.getComponentContainer().tickClientComponents();
+        }
     }
 
     @Inject(method = "tickPassenger", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tickRiding()V", shift = At.Shift.AFTER))
     private void tickRiding(Entity vehicle, Entity passenger, CallbackInfo ci) {
-        ((InternalComponentProvider) passenger).getComponentContainer().tickClientComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) passenger;
+        if (provider.hasClientTickingComponents()) {
+            provider.getComponentContainer().tickClientComponents();
+        }
     }
 }
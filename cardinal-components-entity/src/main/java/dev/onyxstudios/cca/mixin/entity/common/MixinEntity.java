@@ -27,6 +27,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
 import dev.onyxstudios.cca.internal.entity.CardinalEntityInternals;
 import nerdhub.cardinal.components.CardinalComponentsEntity;
@@ -55,6 +56,10 @@ import java.util.Iterator;
 public abstract class MixinEntity implements InternalComponentProvider {
     @Unique
     private ComponentContainer components;
+    @Unique
+    private boolean serverTicking;
+    @Unique
+    private boolean clientTicking;
 
     @Shadow
     public abstract EntityType<?> getType();
@@ -68,6 +73,8 @@ public abstract class MixinEntity implements InternalComponentProvider {
     @Inject(method = "<init>*", at = @At("RETURN"))
     private void initDataTracker(CallbackInfo ci) {
         this.components = CardinalEntityInternals.createEntityComponentContainer((Entity) (Object) this);
+        this.serverTicking = this.components.hasServerTickers();
+        this.clientTicking = this.components.hasClientTickers();
     }
 
     @Inject(method = "toTag", at = @At("RETURN"))
@@ -86,6 +93,16 @@ public abstract class MixinEntity implements InternalComponentProvider {
         return this.components;
     }
 
+    @Override
+    public boolean hasServerTickingComponents() {
+        return this.serverTicking;
+    }
+
+    @Override
+    public boolean hasClientTickingComponents() {
+        return this.clientTicking;
+    }
+
     @Override
     public Iterator<ServerPlayerEntity> getRecipientsForComponentSync() {
         Entity holder = (Entity) (Object) this;
@@ -104,7 +121,7 @@ public abstract class MixinEntity implements InternalComponentProvider {
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(PacketByteBuf buf, ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         buf.writeInt(this.getEntityId());
-        buf.writeIdentifier(key.getId());
+        ComponentKeyNetworking.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(CardinalComponentsEntity.PACKET_ID, buf);
     }
@@ -35,11 +35,17 @@ public abstract class MixinServerWorld {
 
     @Inject(method = "tickEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tick()V", shift = At.Shift.AFTER))
     private void tick(Entity entity, CallbackInfo ci) {
-        ((InternalComponentProvider) entity).getComponentContainer().tickComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) entity;
+        if (provider.hasServerTickingComponents()) {
+            provider.getComponentContainer().tickComponents();
+        }
     }
 
     @Inject(method = "tickPassenger", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tickRiding()V", shift = At.Shift.AFTER))
     private void tickRiding(Entity vehicle, Entity passenger, CallbackInfo ci) {
-        ((InternalComponentProvider) passenger).getComponentContainer().tickComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) passenger;
+        if (provider.hasServerTickingComponents()) {
+            provider.getComponentContainer().tickComponents();
+        }
     }
 }
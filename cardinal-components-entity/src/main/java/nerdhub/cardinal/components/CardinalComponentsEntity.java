@@ -24,9 +24,11 @@ package nerdhub.cardinal.components;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.BundledComponentSync;
+import dev.onyxstudios.cca.internal.base.ClientSyncInbox;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
-import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.Component;
 import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
@@ -34,7 +36,6 @@ import nerdhub.cardinal.components.api.event.PlayerCopyCallback;
 import nerdhub.cardinal.components.api.event.PlayerSyncCallback;
 import nerdhub.cardinal.components.api.event.TrackingStartCallback;
 import nerdhub.cardinal.components.api.util.EntityComponents;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.fabricmc.fabric.api.network.PacketContext;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.entity.Entity;
@@ -82,37 +83,35 @@ public final class CardinalComponentsEntity {
     }
 
     private static void syncEntityComponents(ServerPlayerEntity player, Entity tracked) {
-        InternalComponentProvider provider = (InternalComponentProvider) tracked;
-
-        for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-            key.syncWith(player, provider);
-        }
+        BundledComponentSync.syncAll(player, (InternalComponentProvider) tracked, PACKET_ID);
     }
 
     // Safe to put in the same class as no client-only class is directly referenced
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            ClientSidePacketRegistry.INSTANCE.register(PACKET_ID, (context, buffer) -> {
+            BundledComponentSync.registerClientHandler(PACKET_ID, (context, buffer) -> {
                 try {
                     int entityId = buffer.readInt();
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentType<?> componentType = ComponentRegistry.INSTANCE.get(componentTypeId);
+                    ComponentType<?> componentType = ComponentKeyNetworking.readKey(buffer);
                     if (componentType == null) {
                         return;
                     }
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
+                    ClientSyncInbox.Ticket ticket = ClientSyncInbox.receive(PACKET_ID, entityId, componentType);
+                    buffer.retain();
+
                     context.getTaskQueue().execute(() -> {
                         try {
                             componentType.maybeGet(context.getPlayer().world.getEntityById(entityId))
                                 .ifPresent(c -> {
                                     if (c instanceof AutoSyncedComponent) {
-                                        ((AutoSyncedComponent) c).applySyncPacket(copy);
+                                        ticket.apply((AutoSyncedComponent) c, buffer);
                                     } else if (c instanceof SyncedComponent) {
-                                        ((SyncedComponent) c).processPacket(context, copy);
+                                        ((SyncedComponent) c).processPacket(context, buffer);
                                     }
                                 });
                         } finally {
-                            copy.release();
+                            ticket.close();
+                            buffer.release();
                         }
                     });
                 } catch (Exception e) {
@@ -24,20 +24,27 @@ package dev.onyxstudios.cca.internal.item;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentV3;
+import dev.onyxstudios.cca.api.v3.item.ItemComponent;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import nerdhub.cardinal.components.api.component.Component;
 import nerdhub.cardinal.components.api.component.ComponentProvider;
 import nerdhub.cardinal.components.api.event.ItemComponentCallback;
 import nerdhub.cardinal.components.api.event.ItemComponentCallbackV2;
+import nerdhub.cardinal.components.api.util.container.AbstractComponentContainer;
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.EventFactory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.registry.Registry;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 public final class CardinalItemInternals {
@@ -78,6 +85,32 @@ public final class CardinalItemInternals {
         return ComponentsInternals.createFactory(factoryClass, WILDCARD_ITEM_EVENT_V2, ((ItemCaller) item).cardinal_getItemComponentEventV2());
     }
 
+    /**
+     * Creates the container factory of every registered item that does not have one yet,
+     * generating the dedicated container classes in parallel.
+     *
+     * <p>This may safely race with {@link #createItemStackContainerFactory(Item)}, as the plugin
+     * hands out at most one factory class per item.
+     */
+    public static void generateAllContainerFactories() {
+        List<Item> items = new ArrayList<>();
+
+        for (Item item : Registry.ITEM) {
+            if (!((ItemCaller) item).cardinal_hasContainerFactory()) {
+                items.add(item);
+            }
+        }
+
+        if (items.isEmpty()) {
+            return;
+        }
+
+        StaticItemComponentPlugin.INSTANCE.generateAll(items).forEach((item, factoryClass) -> {
+            ItemCaller caller = (ItemCaller) item;
+            caller.cardinal_setContainerFactory(ComponentsInternals.createFactory(factoryClass, WILDCARD_ITEM_EVENT_V2, caller.cardinal_getItemComponentEventV2()));
+        });
+    }
+
     public static void copyComponents(ItemStack original, ItemStack copy) {
         InternalStackComponentProvider originalProvider = InternalStackComponentProvider.get(original);
         InternalStackComponentProvider copiedProvider = InternalStackComponentProvider.get(copy);
@@ -87,10 +120,14 @@ public final class CardinalItemInternals {
 
         if (originalComponents != null) {
             // the original stack has live components
-            if (copiedComponents != null) {
+            if (!hasExternalData(originalComponents)) {
+                // item components live in the stack tag, which vanilla already copied
+                // the copy's own container gets created and reads its copy of the tag on first access
+                return;
+            } else if (copiedComponents != null) {
                 // both stacks' components are initialized
                 copiedComponents.copyFrom(originalComponents);
-            } else if (originalComponents.hasComponents()) {
+            } else {
                 // only the original stack's components are initialized
                 CompoundTag tag = new CompoundTag();
                 originalComponents.toTag(tag);
@@ -126,19 +163,109 @@ public final class CardinalItemInternals {
 
         if (iStack1.cca_hasNoComponentData() && iStack2.cca_hasNoComponentData()) return false;
 
+        CompoundTag frozen1 = iStack1.cca_getSerializedComponentData();
+        CompoundTag frozen2 = iStack2.cca_getSerializedComponentData();
+
+        // Identical serialized data deserializes to equal components, no need to create them
+        // Different data may still be equivalent, so this case goes through the slow path
+        if (frozen1 != null && frozen2 != null && areFrozenComponentsEqual(frozen1, frozen2)) return false;
+
         Set<ComponentKey<?>> keys1 = iStack1.getComponentContainer().keys();
 
         for(ComponentKey<?> key : keys1) {
             @Nullable Component otherComponent = key.getNullable(stack2);
+            if (otherComponent == null) {
+                return true;
+            }
+            Component component = key.get(stack1);
             // TODO replace with Objects.equals(key.getNullable(stack1), key.getNullable(stack2))
-            if(otherComponent == null || !key.get(stack1).isComponentEqual(otherComponent)) {
+            if (haveDifferentFingerprints(component, otherComponent) || !component.isComponentEqual(otherComponent)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the component data that must be sent along with {@code stack}.
+     *
+     * <p>Frozen data is returned as is. Live components are only serialized if at least one of them
+     * keeps data outside of the stack's tag, as {@link ItemComponent}s always serialize to nothing.
+     *
+     * @return the component data to attach to the synced stack, or {@code null} if there is none
+     */
+    public static @Nullable CompoundTag getSyncedComponentData(ItemStack stack) {
+        return getSyncedComponentData(InternalStackComponentProvider.get(stack));
+    }
+
+    /**
+     * @see #getSyncedComponentData(ItemStack)
+     */
+    public static @Nullable CompoundTag getSyncedComponentData(InternalStackComponentProvider provider) {
+        CompoundTag frozenData = provider.cca_getSerializedComponentData();
+
+        if (frozenData != null) {
+            return frozenData;
+        }
+
+        ComponentContainer componentContainer = provider.getActualComponentContainer();
+
+        if (componentContainer == null || !hasExternalData(componentContainer)) {
+            return null;
+        }
+
+        CompoundTag serializedComponents = componentContainer.toTag(new CompoundTag());
+        return serializedComponents.isEmpty() ? null : serializedComponents;
+    }
+
+    /**
+     * @return {@code true} if some components in the container are not {@link ItemComponent}s,
+     * and may therefore hold data that does not live in the stack's tag
+     */
+    static boolean hasExternalData(ComponentContainer components) {
+        for (ComponentKey<?> key : components.keys()) {
+            if (!(key.getInternal(components) instanceof ItemComponent)) {
                 return true;
             }
         }
+        return false;
+    }
 
+    /**
+     * Returns a tag with the same entries as {@code tag}, plus {@code child} mapped to {@code key}.
+     *
+     * <p>The entries of {@code tag} are shared rather than deep copied, so the returned tag
+     * must only be used for serialization.
+     */
+    public static CompoundTag withChild(@Nullable CompoundTag tag, String key, Tag child) {
+        CompoundTag ret = new CompoundTag();
+        if (tag != null) {
+            for (String k : tag.getKeys()) {
+                ret.put(k, tag.get(k));
+            }
+        }
+        ret.put(key, child);
+        return ret;
+    }
+
+    private static boolean haveDifferentFingerprints(Component c1, Component c2) {
+        if (c1 instanceof ComponentV3 && c2 instanceof ComponentV3) {
+            long fingerprint1 = ((ComponentV3) c1).getStateFingerprint();
+            if (fingerprint1 == 0L) return false;
+            long fingerprint2 = ((ComponentV3) c2).getStateFingerprint();
+            return fingerprint2 != 0L && fingerprint1 != fingerprint2;
+        }
         return false;
     }
 
+    private static boolean areFrozenComponentsEqual(CompoundTag frozen1, CompoundTag frozen2) {
+        // stacks copied from one another share the same frozen tag
+        if (frozen1 == frozen2) return true;
+        // compare the component maps only, ignoring the shared tag marker
+        return Objects.equals(frozen1.get(AbstractComponentContainer.NBT_KEY), frozen2.get(AbstractComponentContainer.NBT_KEY));
+    }
+
     public static void markSharedTag(CompoundTag serializedComponents) {
         serializedComponents.putBoolean(CCA_SHARED_TAG, true);
     }
@@ -33,4 +33,8 @@ public interface ItemCaller {
     Event<ItemComponentCallbackV2> cardinal_getItemComponentEventV2();
 
     ComponentContainer cardinal_createComponents(ItemStack stack);
+
+    boolean cardinal_hasContainerFactory();
+
+    void cardinal_setContainerFactory(ItemComponentContainerFactory factory);
 }
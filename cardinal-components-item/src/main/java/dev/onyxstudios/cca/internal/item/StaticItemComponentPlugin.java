@@ -30,6 +30,7 @@ import dev.onyxstudios.cca.api.v3.component.TransientComponent;
 import dev.onyxstudios.cca.api.v3.item.*;
 import dev.onyxstudios.cca.internal.base.LazyDispatcher;
 import dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper;
+import dev.onyxstudios.cca.internal.base.asm.ContainerWarmup;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentLoadingException;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
 import nerdhub.cardinal.components.api.component.Component;
@@ -61,30 +62,92 @@ public final class StaticItemComponentPlugin extends LazyDispatcher implements I
 
     private final List<PredicatedComponentFactory<?>> dynamicFactories = new ArrayList<>();
     private final Map<@Nullable Identifier, Map<ComponentKey<?>, ItemComponentFactoryV2<?>>> componentFactories = new HashMap<>();
+    /**
+     * Factory classes already generated or looked up for each item, guarded by {@code this}
+     */
+    private final Map<Item, Class<? extends ItemComponentContainerFactory>> factoryClasses = new IdentityHashMap<>();
     private Class<? extends ItemComponentContainerFactory> wildcardFactoryClass;
 
-    public Class<? extends ItemComponentContainerFactory> getFactoryClass(Item item, Identifier itemId) {
+    public synchronized Class<? extends ItemComponentContainerFactory> getFactoryClass(Item item, Identifier itemId) {
         this.ensureInitialized();
         Objects.requireNonNull(item);
 
-        for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
-            dynamicFactory.tryRegister(item, itemId);
+        Class<? extends ItemComponentContainerFactory> cached = this.factoryClasses.get(item);
+
+        if (cached != null) {
+            return cached;
         }
 
+        this.applyDynamicFactories(item, itemId);
+
+        Class<? extends ItemComponentContainerFactory> ret;
+
         if (this.componentFactories.containsKey(itemId)) {
             try {
-                Map<ComponentKey<?>, ItemComponentFactoryV2<?>> compiled = new LinkedHashMap<>(this.componentFactories.get(itemId));
-                this.getWildcard().forEach(compiled::putIfAbsent);
-                String implSuffix = getSuffix(itemId);
-                Class<? extends ComponentContainer> containerCls = CcaAsmHelper.spinComponentContainer(ItemComponentFactoryV2.class, compiled, implSuffix);
-                return StaticComponentPluginBase.spinContainerFactory(implSuffix, ItemComponentContainerFactory.class, containerCls, ItemComponentCallbackV2.class, 2, Item.class, ItemStack.class);
+                ret = this.spinFactory(itemId);
             } catch (IOException e) {
                 throw new StaticComponentLoadingException("Failed to generate a dedicated component container for " + itemId, e);
             }
+        } else {
+            assert this.wildcardFactoryClass != null;
+            ret = this.wildcardFactoryClass;
         }
 
-        assert this.wildcardFactoryClass != null;
-        return this.wildcardFactoryClass;
+        this.factoryClasses.put(item, ret);
+        return ret;
+    }
+
+    /**
+     * Generates the containers and factories for every given item, so that they do not need
+     * to be generated when the first stack of a given item gets created.
+     *
+     * <p>Predicated factories are evaluated on the calling thread, then dedicated classes are generated in parallel.
+     * Items which factory class has already been requested get their existing class.
+     *
+     * @return a map of every item to its factory class, in iteration order
+     */
+    public synchronized Map<Item, Class<? extends ItemComponentContainerFactory>> generateAll(Collection<Item> items) {
+        this.ensureInitialized();
+
+        Map<Item, Class<? extends ItemComponentContainerFactory>> ret = new LinkedHashMap<>();
+        Map<Identifier, Item> targets = new LinkedHashMap<>();
+
+        for (Item item : items) {
+            Class<? extends ItemComponentContainerFactory> cached = this.factoryClasses.get(item);
+
+            if (cached != null) {
+                ret.put(item, cached);
+                continue;
+            }
+
+            Identifier itemId = Registry.ITEM.getId(item);
+            this.applyDynamicFactories(item, itemId);
+
+            if (this.componentFactories.containsKey(itemId)) {
+                targets.put(itemId, item);
+                ret.put(item, null);    // keep the iteration order
+            } else {
+                ret.put(item, this.wildcardFactoryClass);
+            }
+        }
+
+        ContainerWarmup.generateAll("item container warm-up", targets.keySet(), this::spinFactory).forEach((itemId, factoryClass) -> ret.put(targets.get(itemId), factoryClass));
+        this.factoryClasses.putAll(ret);
+        return ret;
+    }
+
+    private void applyDynamicFactories(Item item, Identifier itemId) {
+        for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
+            dynamicFactory.tryRegister(item, itemId);
+        }
+    }
+
+    private Class<? extends ItemComponentContainerFactory> spinFactory(Identifier itemId) throws IOException {
+        Map<ComponentKey<?>, ItemComponentFactoryV2<?>> compiled = new LinkedHashMap<>(this.componentFactories.get(itemId));
+        this.getWildcard().forEach(compiled::putIfAbsent);
+        String implSuffix = getSuffix(itemId);
+        Class<? extends ComponentContainer> containerCls = CcaAsmHelper.spinComponentContainer(ItemComponentFactoryV2.class, compiled, implSuffix);
+        return StaticComponentPluginBase.spinContainerFactory(implSuffix, ItemComponentContainerFactory.class, containerCls, ItemComponentCallbackV2.class, 2, Item.class, ItemStack.class);
     }
 
     @Override
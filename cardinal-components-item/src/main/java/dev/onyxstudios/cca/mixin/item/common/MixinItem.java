@@ -38,7 +38,7 @@ import org.spongepowered.asm.mixin.Unique;
 public abstract class MixinItem implements ItemCaller {
     @Unique private final Event<ItemComponentCallbackV2> cardinal_componentsEventV2 = CardinalItemInternals.createItemComponentsEventV2();
     @Unique private final Event<ItemComponentCallback> cardinal_componentsEvent = CardinalItemInternals.createItemComponentsEvent(this.cardinal_componentsEventV2);
-    @Unique private ItemComponentContainerFactory cardinal_containerFactory;
+    @Unique private volatile ItemComponentContainerFactory cardinal_containerFactory;
 
     @Override
     public Event<ItemComponentCallback> cardinal_getItemComponentEvent() {
@@ -54,9 +54,22 @@ public abstract class MixinItem implements ItemCaller {
     public ComponentContainer cardinal_createComponents(ItemStack stack) {
         //noinspection ConstantConditions
         assert stack.getItem() == (ItemCaller) this;
-        if (this.cardinal_containerFactory == null) {
-            this.cardinal_containerFactory = CardinalItemInternals.createItemStackContainerFactory((Item) (Object) this);
+        ItemComponentContainerFactory factory = this.cardinal_containerFactory;
+        if (factory == null) {
+            // the factory class is cached by the plugin, so racing threads end up with equivalent factories
+            factory = CardinalItemInternals.createItemStackContainerFactory((Item) (Object) this);
+            this.cardinal_containerFactory = factory;
         }
-        return this.cardinal_containerFactory.create((Item) (Object) this, stack);
+        return factory.create((Item) (Object) this, stack);
+    }
+
+    @Override
+    public boolean cardinal_hasContainerFactory() {
+        return this.cardinal_containerFactory != null;
+    }
+
+    @Override
+    public void cardinal_setContainerFactory(ItemComponentContainerFactory factory) {
+        this.cardinal_containerFactory = factory;
     }
 }
@@ -22,9 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.item.common;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.internal.item.CardinalItemInternals;
-import dev.onyxstudios.cca.internal.item.InternalStackComponentProvider;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.PacketByteBuf;
@@ -39,24 +37,13 @@ public abstract class MixinWritePacketByteBuf {
     @Nullable
     @ModifyVariable(method = "writeItemStack(Lnet/minecraft/item/ItemStack;)Lnet/minecraft/network/PacketByteBuf;", at = @At(value = "LOAD"))
     private CompoundTag writeItemStack(@Nullable CompoundTag tag, ItemStack stack) {
-        InternalStackComponentProvider provider = InternalStackComponentProvider.get(stack);
-        CompoundTag serializedComponents;
-        CompoundTag frozenData = provider.cca_getSerializedComponentData();
+        CompoundTag serializedComponents = CardinalItemInternals.getSyncedComponentData(stack);
 
-        if (frozenData == null) {
-            ComponentContainer componentContainer = provider.getActualComponentContainer();
-
-            if (componentContainer == null || componentContainer.keys().isEmpty()) {
-                return tag;
-            }
-
-            serializedComponents = componentContainer.toTag(new CompoundTag());
-        } else {
-            serializedComponents = frozenData;
+        if (serializedComponents == null) {
+            return tag;
         }
 
-        CompoundTag newTag = tag == null ? new CompoundTag() : tag.copy();
-        newTag.put(CardinalItemInternals.CCA_SYNCED_COMPONENTS, serializedComponents);
-        return newTag;
+        // the tag only gets written to the buffer, no need to copy the vanilla data
+        return CardinalItemInternals.withChild(tag, CardinalItemInternals.CCA_SYNCED_COMPONENTS, serializedComponents);
     }
 }
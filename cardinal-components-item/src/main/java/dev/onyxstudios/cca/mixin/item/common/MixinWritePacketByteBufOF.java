@@ -22,9 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.item.common;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.internal.item.CardinalItemInternals;
-import dev.onyxstudios.cca.internal.item.InternalStackComponentProvider;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.PacketByteBuf;
@@ -36,11 +34,11 @@ import org.spongepowered.asm.mixin.injection.ModifyVariable;
 public abstract class MixinWritePacketByteBufOF {
     @ModifyVariable(method = "writeItemStack", at = @At("HEAD"), argsOnly = true)
     private ItemStack writeItemStackOptifine(ItemStack stack) {
-        ComponentContainer componentContainer = InternalStackComponentProvider.get(stack).getComponentContainer();
+        CompoundTag serializedComponents = CardinalItemInternals.getSyncedComponentData(stack);
 
-        if (!componentContainer.keys().isEmpty()) {
+        if (serializedComponents != null) {
             ItemStack copy = stack.copy();
-            copy.putSubTag(CardinalItemInternals.CCA_SYNCED_COMPONENTS, componentContainer.toTag(new CompoundTag()));
+            copy.putSubTag(CardinalItemInternals.CCA_SYNCED_COMPONENTS, serializedComponents);
             return copy;
         }
 
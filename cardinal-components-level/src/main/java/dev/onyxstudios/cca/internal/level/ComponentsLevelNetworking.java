@@ -22,34 +22,26 @@
  */
 package dev.onyxstudios.cca.internal.level;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.BundledComponentSync;
+import dev.onyxstudios.cca.internal.base.ClientSyncInbox;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
-import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
-import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.Component;
 import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
 import nerdhub.cardinal.components.api.event.WorldSyncCallback;
 import nerdhub.cardinal.components.api.util.sync.LevelSyncedComponent;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
 
 public final class ComponentsLevelNetworking {
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
             if (FabricLoader.getInstance().isModLoaded("cardinal-components-world")) {
-                WorldSyncCallback.EVENT.register((player, world) -> {
-                    ComponentProvider provider = ComponentProvider.fromLevel(world.getLevelProperties());
-
-                    for (ComponentKey<?> key : ((InternalComponentProvider) provider).getComponentContainer().keys()) {
-                        key.syncWith(player, provider);
-                    }
-                });
+                WorldSyncCallback.EVENT.register((player, world) -> BundledComponentSync.syncAll(player, ComponentProvider.fromLevel(world.getLevelProperties()), LevelSyncedComponent.PACKET_ID));
             }
         }
     }
@@ -57,26 +49,28 @@ public final class ComponentsLevelNetworking {
     // Safe to put in the same class as no client-only class is directly referenced
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            ClientSidePacketRegistry.INSTANCE.register(LevelSyncedComponent.PACKET_ID, (context, buffer) -> {
+            BundledComponentSync.registerClientHandler(LevelSyncedComponent.PACKET_ID, (context, buffer) -> {
                 try {
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentType<?> componentType = ComponentRegistry.INSTANCE.get(componentTypeId);
+                    ComponentType<?> componentType = ComponentKeyNetworking.readKey(buffer);
                     if (componentType == null) {
                         return;
                     }
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
+                    ClientSyncInbox.Ticket ticket = ClientSyncInbox.receive(LevelSyncedComponent.PACKET_ID, null, componentType);
+                    buffer.retain();
+
                     context.getTaskQueue().execute(() -> {
                         try {
                             assert MinecraftClient.getInstance().world != null;
                             Component c = componentType.get(MinecraftClient.getInstance().world.getLevelProperties());
 
                             if (c instanceof AutoSyncedComponent) {
-                                ((AutoSyncedComponent) c).applySyncPacket(copy);
+                                ticket.apply((AutoSyncedComponent) c, buffer);
                             } else if (c instanceof SyncedComponent) {
-                                ((SyncedComponent) c).processPacket(context, copy);
+                                ((SyncedComponent) c).processPacket(context, buffer);
                             }
                         } finally {
-                            copy.release();
+                            ticket.close();
+                            buffer.release();
                         }
                     });
                 } catch (Exception e) {
@@ -40,6 +40,9 @@ public abstract class MixinMinecraftServer {
 
     @Inject(at = @At("TAIL"), method = "tick")
     private void onEndTick(BooleanSupplier shouldKeepTicking, CallbackInfo info) {
-        ((InternalComponentProvider) ComponentProvider.fromLevel(this.getSaveProperties().getMainWorldProperties())).getComponentContainer().tickComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) ComponentProvider.fromLevel(this.getSaveProperties().getMainWorldProperties());
+        if (provider.hasServerTickingComponents()) {
+            provider.getComponentContainer().tickComponents();
+        }
     }
 }
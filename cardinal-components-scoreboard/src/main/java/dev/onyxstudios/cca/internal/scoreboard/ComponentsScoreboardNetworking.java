@@ -27,13 +27,14 @@ import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.scoreboard.ScoreboardSyncCallback;
 import dev.onyxstudios.cca.api.v3.scoreboard.TeamAddCallback;
+import dev.onyxstudios.cca.internal.base.BundledComponentSync;
+import dev.onyxstudios.cca.internal.base.ClientSyncInbox;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
-import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.Component;
 import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.fabricmc.fabric.api.network.PacketContext;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.network.PacketByteBuf;
@@ -69,16 +70,10 @@ public final class ComponentsScoreboardNetworking {
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
             ScoreboardSyncCallback.EVENT.register((player, tracked) -> {
-                for (ComponentKey<?> key : ((InternalComponentProvider) tracked).getComponentContainer().keys()) {
-                    key.syncWith(player, ComponentProvider.fromScoreboard(tracked));
-                }
+                BundledComponentSync.syncAll(player, ComponentProvider.fromScoreboard(tracked), SCOREBOARD_PACKET_ID);
 
                 for (Team team : tracked.getTeams()) {
-                    ComponentProvider provider = ComponentProvider.fromTeam(team);
-
-                    for (ComponentKey<?> key : ((InternalComponentProvider) provider).getComponentContainer().keys()) {
-                        key.syncWith(player, provider);
-                    }
+                    BundledComponentSync.syncAll(player, ComponentProvider.fromTeam(team), TEAM_PACKET_ID);
                 }
             });
             TeamAddCallback.EVENT.register((tracked) -> {
@@ -92,32 +87,34 @@ public final class ComponentsScoreboardNetworking {
     // Safe to put in the same class as no client-only class is directly referenced
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            registerScoreboardSync(TEAM_PACKET_ID, (ctx, buf) -> {
-                String teamName = buf.readString();
-                return (componentType) -> componentType.maybeGet(ctx.getPlayer().world.getScoreboard().getTeam(teamName));
-            });
-            registerScoreboardSync(SCOREBOARD_PACKET_ID,
-                (ctx, buf) -> (componentType) -> componentType.maybeGet(ctx.getPlayer().world.getScoreboard())
+            registerScoreboardSync(TEAM_PACKET_ID, PacketByteBuf::readString,
+                (ctx, teamName) -> (componentType) -> componentType.maybeGet(ctx.getPlayer().world.getScoreboard().getTeam(teamName))
+            );
+            registerScoreboardSync(SCOREBOARD_PACKET_ID, buf -> null,
+                (ctx, nothing) -> (componentType) -> componentType.maybeGet(ctx.getPlayer().world.getScoreboard())
             );
         }
     }
 
-    private static void registerScoreboardSync(Identifier packetId, BiFunction<PacketContext, PacketByteBuf, Function<ComponentType<?>, Optional<? extends Component>>> reader) {
-        ClientSidePacketRegistry.INSTANCE.register(packetId, (context, buffer) -> {
+    private static <T> void registerScoreboardSync(Identifier packetId, Function<PacketByteBuf, T> idReader, BiFunction<PacketContext, T, Function<ComponentType<?>, Optional<? extends Component>>> getterFactory) {
+        BundledComponentSync.registerClientHandler(packetId, (context, buffer) -> {
             try {
-                Function<ComponentType<?>, Optional<? extends Component>> getter = reader.apply(context, buffer);
-                Identifier componentTypeId = buffer.readIdentifier();
-                ComponentType<?> componentType = ComponentRegistry.INSTANCE.get(componentTypeId);
+                T providerId = idReader.apply(buffer);
+                Function<ComponentType<?>, Optional<? extends Component>> getter = getterFactory.apply(context, providerId);
+                ComponentType<?> componentType = ComponentKeyNetworking.readKey(buffer);
 
                 if (componentType != null) {
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
+                    ClientSyncInbox.Ticket ticket = ClientSyncInbox.receive(packetId, providerId, componentType);
+                    buffer.retain();
+
                     context.getTaskQueue().execute(() -> {
                         try {
                             getter.apply(componentType)
                                 .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(copy));
+                                .ifPresent(c -> ticket.apply((AutoSyncedComponent) c, buffer));
                         } finally {
-                            copy.release();
+                            ticket.close();
+                            buffer.release();
                         }
                     });
                 }
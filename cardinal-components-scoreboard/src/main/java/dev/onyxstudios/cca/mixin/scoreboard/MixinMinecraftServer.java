@@ -42,10 +42,16 @@ public abstract class MixinMinecraftServer {
     @Inject(at = @At("TAIL"), method = "tick")
     private void onEndTick(BooleanSupplier shouldKeepTicking, CallbackInfo info) {
         ServerScoreboard scoreboard = this.getScoreboard();
-        ((InternalComponentProvider) ComponentProvider.fromScoreboard(scoreboard)).getComponentContainer().tickComponents();
+        InternalComponentProvider scoreboardProvider = (InternalComponentProvider) ComponentProvider.fromScoreboard(scoreboard);
+        if (scoreboardProvider.hasServerTickingComponents()) {
+            scoreboardProvider.getComponentContainer().tickComponents();
+        }
 
         for (Team team : scoreboard.getTeams()) {
-            ((InternalComponentProvider) ComponentProvider.fromTeam(team)).getComponentContainer().tickComponents();
+            InternalComponentProvider teamProvider = (InternalComponentProvider) ComponentProvider.fromTeam(team);
+            if (teamProvider.hasServerTickingComponents()) {
+                teamProvider.getComponentContainer().tickComponents();
+            }
         }
     }
 }
@@ -22,17 +22,17 @@
  */
 package dev.onyxstudios.cca.internal.world;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.BundledComponentSync;
+import dev.onyxstudios.cca.internal.base.ClientSyncInbox;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
-import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.Component;
 import nerdhub.cardinal.components.api.component.extension.SyncedComponent;
 import nerdhub.cardinal.components.api.event.WorldSyncCallback;
 import nerdhub.cardinal.components.api.util.sync.WorldSyncedComponent;
-import net.fabricmc.fabric.api.network.ClientSidePacketRegistry;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.util.Identifier;
@@ -42,26 +42,21 @@ public final class ComponentsWorldNetworking {
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            WorldSyncCallback.EVENT.register((player, world) -> {
-                InternalComponentProvider provider = (InternalComponentProvider) world;
-                for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-                    key.syncWith(player, provider);
-                }
-            });
+            WorldSyncCallback.EVENT.register((player, world) -> BundledComponentSync.syncAll(player, (InternalComponentProvider) world, PACKET_ID));
         }
     }
 
     // Safe to put in the same class as no client-only class is directly referenced
     public static void initClient() {
-        ClientSidePacketRegistry.INSTANCE.register(WorldSyncedComponent.PACKET_ID, (context, buffer) -> {
+        BundledComponentSync.registerClientHandler(WorldSyncedComponent.PACKET_ID, (context, buffer) -> {
             try {
-                Identifier componentTypeId = buffer.readIdentifier();
-                ComponentType<?> componentType = ComponentRegistry.INSTANCE.get(componentTypeId);
+                ComponentType<?> componentType = ComponentKeyNetworking.readKey(buffer);
 
                 if (componentType == null) {
                     return;
                 }
 
+                ClientSyncInbox.Ticket ticket = ClientSyncInbox.receive(WorldSyncedComponent.PACKET_ID, null, componentType);
                 buffer.retain();
 
                 context.getTaskQueue().execute(() -> {
@@ -69,11 +64,12 @@ public final class ComponentsWorldNetworking {
                         assert MinecraftClient.getInstance().world != null;
                         Component c = componentType.get(MinecraftClient.getInstance().world);
                         if (c instanceof AutoSyncedComponent) {
-                            ((AutoSyncedComponent) c).applySyncPacket(buffer);
+                            ticket.apply((AutoSyncedComponent) c, buffer);
                         } else if (c instanceof SyncedComponent) {
                             ((SyncedComponent) c).processPacket(context, buffer);
                         }
                     } finally {
+                        ticket.close();
                         buffer.release();
                     }
                 });
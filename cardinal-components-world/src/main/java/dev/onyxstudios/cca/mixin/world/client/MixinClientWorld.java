@@ -35,6 +35,9 @@ import java.util.function.BooleanSupplier;
 public abstract class MixinClientWorld {
     @Inject(method = "tick", at = @At("RETURN"))
     private void tick(BooleanSupplier shouldKeepTicking, CallbackInfo ci) {
-        ((InternalComponentProvider) this).getComponentContainer().tickClientComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) this;
+        if (provider.hasClientTickingComponents()) {
+            provider.getComponentContainer().tickClientComponents();
+        }
     }
 }
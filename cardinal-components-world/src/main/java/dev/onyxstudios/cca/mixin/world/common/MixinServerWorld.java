@@ -25,6 +25,7 @@ package dev.onyxstudios.cca.mixin.world.common;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentKeyNetworking;
 import dev.onyxstudios.cca.internal.base.InternalComponentProvider;
 import dev.onyxstudios.cca.internal.world.ComponentPersistentState;
 import dev.onyxstudios.cca.internal.world.ComponentsWorldNetworking;
@@ -63,7 +64,10 @@ public abstract class MixinServerWorld extends MixinWorld {
 
     @Inject(method = "tick", at = @At("RETURN"))
     private void tick(BooleanSupplier shouldKeepTicking, CallbackInfo ci) {
-        ((InternalComponentProvider) this).getComponentContainer().tickComponents();
+        InternalComponentProvider provider = (InternalComponentProvider) this;
+        if (provider.hasServerTickingComponents()) {
+            provider.getComponentContainer().tickComponents();
+        }
     }
 
     @Override
@@ -74,7 +78,7 @@ public abstract class MixinServerWorld extends MixinWorld {
     @Nullable
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(PacketByteBuf buf, ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
-        buf.writeIdentifier(key.getId());
+        ComponentKeyNetworking.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(ComponentsWorldNetworking.PACKET_ID, buf);
     }
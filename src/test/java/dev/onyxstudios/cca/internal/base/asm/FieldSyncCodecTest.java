@@ -0,0 +1,139 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2021 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import dev.onyxstudios.cca.api.v3.component.sync.SyncedField;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+import java.util.UUID;
+
+class FieldSyncCodecTest {
+
+    @Test
+    void generatedCodecMatchesFallback() {
+        FieldSyncCodec generated = FieldSyncCodec.create(Sample.class, true);
+        FieldSyncCodec fallback = FieldSyncCodec.create(Sample.class, false);
+        Assertions.assertNotSame(generated.getClass(), fallback.getClass());
+
+        for (Sample sample : new Sample[] {Sample.filled(), new Sample()}) {
+            byte[] generatedBytes = write(generated, sample);
+            byte[] fallbackBytes = write(fallback, sample);
+            Assertions.assertArrayEquals(fallbackBytes, generatedBytes);
+
+            Sample readByGenerated = Sample.filled();
+            generated.read(readByGenerated, new PacketByteBuf(Unpooled.wrappedBuffer(fallbackBytes)));
+            Assertions.assertEquals(sample, readByGenerated);
+
+            Sample readByFallback = Sample.filled();
+            fallback.read(readByFallback, new PacketByteBuf(Unpooled.wrappedBuffer(generatedBytes)));
+            Assertions.assertEquals(sample, readByFallback);
+        }
+    }
+
+    @Test
+    void inaccessibleFieldTypesUseFallback() {
+        FieldSyncCodec codec = FieldSyncCodec.create(HiddenEnumSample.class, true);
+        Assertions.assertSame(FieldSyncCodec.create(HiddenEnumSample.class, false).getClass(), codec.getClass());
+
+        HiddenEnumSample sample = new HiddenEnumSample();
+        sample.mode = HiddenMode.ON;
+        byte[] bytes = write(codec, sample);
+        HiddenEnumSample read = new HiddenEnumSample();
+        codec.read(read, new PacketByteBuf(Unpooled.wrappedBuffer(bytes)));
+        Assertions.assertEquals(HiddenMode.ON, read.mode);
+    }
+
+    private static byte[] write(FieldSyncCodec codec, Object component) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        codec.write(component, buf);
+        byte[] ret = new byte[buf.readableBytes()];
+        buf.readBytes(ret);
+        return ret;
+    }
+
+    public enum Mode { FIRST, SECOND, THIRD }
+
+    enum HiddenMode { OFF, ON }
+
+    public static class Sample {
+        @SyncedField public boolean flag;
+        @SyncedField public int count;
+        @SyncedField public long time;
+        @SyncedField public double ratio;
+        @SyncedField public String name;
+        @SyncedField public Identifier id;
+        @SyncedField public UUID owner;
+        @SyncedField public BlockPos pos;
+        @SyncedField public Mode mode;
+
+        static Sample filled() {
+            Sample sample = new Sample();
+            sample.flag = true;
+            sample.count = -300;
+            sample.time = 1L << 40;
+            sample.ratio = 0.25;
+            sample.name = "test";
+            sample.id = new Identifier("testmod", "test");
+            sample.owner = new UUID(1234, 5678);
+            sample.pos = new BlockPos(-1, 64, 200);
+            sample.mode = Mode.THIRD;
+            return sample;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || this.getClass() != o.getClass()) return false;
+            Sample sample = (Sample) o;
+            return this.flag == sample.flag
+                && this.count == sample.count
+                && this.time == sample.time
+                && Double.compare(this.ratio, sample.ratio) == 0
+                && Objects.equals(this.name, sample.name)
+                && Objects.equals(this.id, sample.id)
+                && Objects.equals(this.owner, sample.owner)
+                && Objects.equals(this.pos, sample.pos)
+                && this.mode == sample.mode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.flag, this.count, this.time, this.ratio, this.name, this.id, this.owner, this.pos, this.mode);
+        }
+
+        @Override
+        public String toString() {
+            return "Sample{" + this.flag + ", " + this.count + ", " + this.time + ", " + this.ratio + ", " + this.name + ", " + this.id + ", " + this.owner + ", " + this.pos + ", " + this.mode + '}';
+        }
+    }
+
+    public static class HiddenEnumSample {
+        @SyncedField public HiddenMode mode;
+    }
+}
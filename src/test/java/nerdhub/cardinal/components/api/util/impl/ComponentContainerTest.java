@@ -30,12 +30,14 @@ import nerdhub.cardinal.components.api.ComponentRegistry;
 import nerdhub.cardinal.components.api.ComponentType;
 import nerdhub.cardinal.components.api.component.Component;
 import nerdhub.cardinal.components.api.component.ComponentContainer;
+import nerdhub.cardinal.components.api.component.extension.CopyableComponent;
 import nerdhub.cardinal.components.api.util.container.FastComponentContainer;
 import nerdhub.cardinal.components.api.util.container.IndexedComponentContainer;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.util.Identifier;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -116,6 +118,80 @@ class ComponentContainerTest {
         Assertions.assertEquals(map, cc);
     }
 
+    @ContainerTest
+    void emptyContainerWorks(ComponentContainer<Component> cc) {
+        Assertions.assertEquals(0, cc.size());
+        Assertions.assertTrue(cc.isEmpty());
+        for (ComponentType<TestComponent> type : testComponentTypes) {
+            Assertions.assertFalse(cc.containsKey(type));
+            Assertions.assertNull(cc.get(type));
+        }
+        Assertions.assertTrue(cc.keySet().isEmpty());
+        Assertions.assertFalse(cc.values().iterator().hasNext());
+        Assertions.assertFalse(cc.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    void generatedContainerWorks() {
+        ComponentType<TestComponent> first = testComponentTypes.get(3);
+        ComponentType<TestComponent> second = testComponentTypes.get(7);
+        ComponentType<TestComponent> dynamic = testComponentTypes.get(5);
+        dev.onyxstudios.cca.api.v3.component.ComponentContainer.Factory<Integer> factory = dev.onyxstudios.cca.api.v3.component.ComponentContainer.Factory.builder(Integer.class)
+            .component(first, TestComponent.Impl::new)
+            .component(second, i -> new TestComponent.Impl(i + 1))
+            .build();
+
+        @SuppressWarnings("unchecked") ComponentContainer<Component> cc = (ComponentContainer<Component>) factory.createContainer(4);
+        Assertions.assertEquals(2, cc.size());
+        Assertions.assertTrue(cc.containsKey(first));
+        Assertions.assertTrue(cc.containsKey(second));
+        Assertions.assertFalse(cc.containsKey(dynamic));
+        Assertions.assertEquals(ImmutableSet.of(first, second), cc.keys());
+        Assertions.assertEquals(new TestComponent.Impl(5), cc.get(second));
+
+        cc.put(dynamic, new TestComponent.Impl(0));
+        Assertions.assertEquals(3, cc.size());
+        Assertions.assertTrue(cc.containsKey(first));
+        Assertions.assertTrue(cc.containsKey(dynamic));
+        Assertions.assertEquals(ImmutableSet.of(first, second, dynamic), cc.keys());
+        for (int i = 0; i < 10; i++) {
+            ComponentType<TestComponent> type = testComponentTypes.get(i);
+            Assertions.assertEquals(type == first || type == second || type == dynamic, cc.containsKey(type));
+        }
+    }
+
+    @Test
+    void generatedContainerCopiesCopyableImplementations() {
+        // the key's class is not copyable, only the implementation is
+        ComponentType<TestComponent> type = testComponentTypes.get(2);
+        dev.onyxstudios.cca.api.v3.component.ComponentContainer.Factory<Integer> factory = dev.onyxstudios.cca.api.v3.component.ComponentContainer.Factory.builder(Integer.class)
+            .component(type, CopyableImpl::new)
+            .build();
+
+        ComponentContainer<?> cc = (ComponentContainer<?>) factory.createContainer(1);
+        ComponentContainer<?> cc1 = (ComponentContainer<?>) factory.createContainer(2);
+        cc.copyFrom(cc1);
+        CopyableImpl copy = (CopyableImpl) cc.get(type);
+        Assertions.assertNotNull(copy);
+        Assertions.assertTrue(copy.copied);
+        Assertions.assertEquals(cc1.get(type), copy);
+    }
+
+    @SuppressWarnings("deprecation")
+    static class CopyableImpl extends TestComponent.Impl implements CopyableComponent<TestComponent.Impl> {
+        boolean copied;
+
+        CopyableImpl(int i) {
+            super(i);
+        }
+
+        @Override
+        public void copyFrom(TestComponent.Impl other) {
+            this.fromTag(other.toTag(new CompoundTag()));
+            this.copied = true;
+        }
+    }
+
     static class CustomArgumentProvider implements ArgumentsProvider {
         @Override
         public Stream<? extends Arguments> provideArguments(ExtensionContext context) {